@@ -0,0 +1,38 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import rollercoastercore.log.EventLog;
+
+/**
+ * Helpers shared by the benchmarks.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+final class Benchmarks {
+
+    // Largest number of benchmark threads
+    static final int MAX_THREADS = 256;
+    // Root seed of the random streams, so every run draws the same ride
+    // durations
+    static final long SEED = 42;
+
+    /**
+     * Constructor.
+     */
+    private Benchmarks() {
+    }
+
+    /**
+     * Turn off the event log and the log of interrupted waits, so the
+     * benchmarks do not measure console I/O.
+     */
+    static void silence() {
+        EventLog.configure(EventLog.Level.OFF, EventLog.Overflow.DROP, 1);
+        Logger.getLogger("").setLevel(Level.OFF);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/**
+ * Passengers boarding and unboarding the car. Every benchmark thread is a
+ * passenger and the car has a seat for each one and a spare one, so it is
+ * never full and keeps allowing boarding.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardingBenchmark {
+
+    // Implementation
+    @Param({"lock", "stamped", "monitor", "lockfree"})
+    public String implementation;
+
+    // Roller Coaster
+    private Coaster coaster;
+
+    /**
+     * Passenger of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Rider {
+
+        // Passenger index
+        int passenger;
+
+        /**
+         * Use the thread index as passenger index.
+         *
+         * @param params Thread parameters
+         */
+        @Setup
+        public void setUp(ThreadParams params) {
+            this.passenger = params.getThreadIndex();
+        }
+    }
+
+    /**
+     * Create the Roller Coaster and let the passengers board the car.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benchmarks.silence();
+        this.coaster = Coaster.create(this.implementation,
+                Benchmarks.MAX_THREADS, Benchmarks.MAX_THREADS + 1);
+        this.coaster.open();
+    }
+
+    /**
+     * Board and unboard the car.
+     *
+     * @param rider Passenger of the thread
+     */
+    @Benchmark
+    public void boardAndUnboard(Rider rider) {
+        this.coaster.board(rider.passenger);
+        this.coaster.unboard(rider.passenger);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.SplittableRandom;
+import rollercoastercore.random.RandomStreams;
+import rollercoastercore.rollercoaster.CarState;
+
+/**
+ * Common view of a Roller Coaster implementation, so the same benchmark
+ * drives every synchronization design. Passengers are referenced by index.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public interface Coaster {
+
+    // Number of loading platforms of the platforms implementation
+    int PLATFORMS = 4;
+
+    /**
+     * Create a Roller Coaster with one car and a pool of passengers. The car
+     * never closes and its rides take 1 to 4 nanoseconds, drawn from the
+     * benchmark seed.
+     *
+     * @param implementation Implementation name (lock, stamped, phaser,
+     * platforms, monitor or lockfree)
+     * @param passengers Number of passengers
+     * @param capacity Car capacity
+     *
+     * @return The Roller Coaster
+     */
+    static Coaster create(String implementation, int passengers,
+            int capacity) {
+        return create(implementation, passengers, capacity,
+                new SplittableRandom(Benchmarks.SEED));
+    }
+
+    /**
+     * Create a Roller Coaster with one car and a pool of passengers, drawing
+     * their streams from a given root generator. The shared root generator
+     * is left untouched, so several Roller Coasters can be created at the
+     * same time.
+     *
+     * @param implementation Implementation name (lock, stamped, phaser,
+     * platforms, monitor or lockfree)
+     * @param passengers Number of passengers
+     * @param capacity Car capacity
+     * @param generator Root generator of the car and the passengers
+     *
+     * @return The Roller Coaster
+     */
+    static Coaster create(String implementation, int passengers,
+            int capacity, SplittableRandom generator) {
+        return RandomStreams.withRoot(generator,
+                () -> build(implementation, passengers, capacity));
+    }
+
+    /**
+     * Build a Roller Coaster of an implementation.
+     *
+     * @param implementation Implementation name
+     * @param passengers Number of passengers
+     * @param capacity Car capacity
+     *
+     * @return The Roller Coaster
+     */
+    private static Coaster build(String implementation, int passengers,
+            int capacity) {
+        switch (implementation) {
+            case "lock":
+                return LockCoaster.create(passengers, capacity, 1,
+                        "reentrant");
+            case "stamped":
+            case "phaser":
+                return LockCoaster.create(passengers, capacity, 1,
+                        implementation);
+            case "platforms":
+                return LockCoaster.create(passengers, capacity, PLATFORMS,
+                        "reentrant");
+            case "monitor":
+                return MonitorCoaster.create(passengers, capacity);
+            case "lockfree":
+                return LockFreeCoaster.create(passengers, capacity);
+            default:
+                throw new IllegalArgumentException("Unknown implementation: "
+                        + implementation);
+        }
+    }
+
+    /**
+     * Add passenger to queue.
+     *
+     * @param passenger Passenger index
+     */
+    void join(int passenger);
+
+    /**
+     * Remove passenger from the queue, if it is the next.
+     *
+     * @param passenger Passenger index
+     */
+    void leave(int passenger);
+
+    /**
+     * Let passengers board the car, as the handler does when it loads it.
+     */
+    void open();
+
+    /**
+     * Add passenger in the car, if it allows boarding.
+     *
+     * @param passenger Passenger index
+     */
+    void board(int passenger);
+
+    /**
+     * Remove passenger from the car.
+     *
+     * @param passenger Passenger index
+     */
+    void unboard(int passenger);
+
+    /**
+     * Read the state of the car, as the handler and the waiting passengers do
+     * over and over.
+     *
+     * @return State of the car
+     */
+    CarState state();
+
+    /**
+     * Handler side of a ride cycle: load, wait for the departure, run, unload
+     * and wait empty.
+     */
+    void cycle();
+
+    /**
+     * Passenger side of a ride cycle: join the line, board when it is the
+     * next, wait for unboarding and leave the car.
+     *
+     * @param passenger Passenger index
+     *
+     * @return Time from joining the line to boarding (nanoseconds) or -1 if
+     * the passenger could not board
+     */
+    long ride(int passenger);
+}
@@ -0,0 +1,98 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import rollercoastercore.rollercoaster.CarState;
+import rollercoastercore.rollercoaster.Passenger;
+import rollercoastercore.rollercoaster.CarController;
+import rollercoastercore.rollercoaster.LineController;
+
+/**
+ * Roller Coaster driven through the line and car controllers, so the same
+ * code drives every implementation and only the way they synchronize
+ * differs.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+class ControllerCoaster implements Coaster {
+
+    // Roller Coaster line
+    private final LineController line;
+    // Roller Coaster car
+    private final CarController car;
+    // Passengers
+    private final Passenger[] passengers;
+
+    /**
+     * Constructor.
+     *
+     * @param line Roller Coaster line (serving the car)
+     * @param car Roller Coaster car
+     * @param passengers Number of passengers
+     */
+    ControllerCoaster(LineController line, CarController car,
+            int passengers) {
+        this.line = line;
+        this.car = car;
+        this.passengers = new Passenger[passengers];
+        for (int i = 0; i < passengers; i++) {
+            this.passengers[i] = new Passenger(i + 1, line);
+        }
+    }
+
+    @Override
+    public void join(int passenger) {
+        this.line.addPassengerToQueue(this.passengers[passenger]);
+    }
+
+    @Override
+    public void leave(int passenger) {
+        this.line.removePassengerFromTheQueue(this.passengers[passenger]);
+    }
+
+    @Override
+    public void open() {
+        this.car.load();
+    }
+
+    @Override
+    public void board(int passenger) {
+        this.car.addPassenger(this.passengers[passenger]);
+    }
+
+    @Override
+    public void unboard(int passenger) {
+        this.car.removePassenger(this.passengers[passenger]);
+    }
+
+    @Override
+    public CarState state() {
+        return this.car.getState();
+    }
+
+    @Override
+    public void cycle() {
+        this.car.load();
+        this.car.waitDeparture();
+        this.car.run();
+        this.car.unload();
+        this.car.waitEmpty();
+    }
+
+    @Override
+    public long ride(int passenger) {
+        Passenger p = this.passengers[passenger];
+        long start = System.nanoTime();
+        this.line.addPassengerToQueue(p);
+        CarController boarded = this.line.awaitBoarding(p);
+        if (boarded == null) {
+            return -1;
+        }
+        long wait = System.nanoTime() - start;
+        boarded.awaitUnboarding();
+        boarded.removePassenger(p);
+        return wait;
+    }
+}
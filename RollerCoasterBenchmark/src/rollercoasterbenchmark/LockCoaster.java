@@ -0,0 +1,74 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.concurrent.TimeUnit;
+import rollercoasterlock.rollercoaster.LineCar;
+import rollercoasterlock.rollercoaster.PhaserCar;
+import rollercoasterlock.rollercoaster.StampedCar;
+import rollercoasterlock.rollercoaster.RollerCoasterCar;
+import rollercoasterlock.rollercoaster.RollerCoasterLine;
+import rollercoasterlock.rollercoaster.PlatformLine;
+import rollercoasterlock.rollercoaster.AbstractLine;
+
+/**
+ * Roller Coaster with explicit locks (RollerCoasterLock), with a single line
+ * or with several loading platforms, and a reentrant, stamped or phaser car.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+final class LockCoaster {
+
+    /**
+     * Constructor.
+     */
+    private LockCoaster() {
+    }
+
+    /**
+     * Create a Roller Coaster with one car that never closes.
+     *
+     * @param passengers Number of passengers
+     * @param capacity Car capacity
+     * @param platforms Number of loading platforms
+     * @param car How the car synchronizes (reentrant, stamped or phaser)
+     *
+     * @return The Roller Coaster
+     */
+    static Coaster create(int passengers, int capacity, int platforms,
+            String car) {
+        AbstractLine line = platforms > 1 ? new PlatformLine(platforms)
+                : new RollerCoasterLine();
+        LineCar coasterCar = create(car, line, capacity);
+        line.addCar(coasterCar);
+        return new ControllerCoaster(line, coasterCar, passengers);
+    }
+
+    /**
+     * Create a car that never closes.
+     *
+     * @param car How the car synchronizes (reentrant, stamped or phaser)
+     * @param line Line that serves the car
+     * @param capacity Car capacity
+     *
+     * @return The car
+     */
+    private static LineCar create(String car, AbstractLine line,
+            int capacity) {
+        switch (car) {
+            case "reentrant":
+                return new RollerCoasterCar(1, line, Integer.MAX_VALUE,
+                        capacity, TimeUnit.NANOSECONDS);
+            case "stamped":
+                return new StampedCar(1, line, Integer.MAX_VALUE, capacity,
+                        TimeUnit.NANOSECONDS);
+            case "phaser":
+                return new PhaserCar(1, line, Integer.MAX_VALUE, capacity,
+                        TimeUnit.NANOSECONDS);
+            default:
+                throw new IllegalArgumentException("Unknown car: " + car);
+        }
+    }
+}
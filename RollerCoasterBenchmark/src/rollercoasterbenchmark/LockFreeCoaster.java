@@ -0,0 +1,39 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.concurrent.TimeUnit;
+import rollercoasterlockfree.rollercoaster.RollerCoasterCar;
+import rollercoasterlockfree.rollercoaster.RollerCoasterLine;
+
+/**
+ * Roller Coaster without locks (RollerCoasterLockFree).
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+final class LockFreeCoaster {
+
+    /**
+     * Constructor.
+     */
+    private LockFreeCoaster() {
+    }
+
+    /**
+     * Create a Roller Coaster with one car that never closes.
+     *
+     * @param passengers Number of passengers
+     * @param capacity Car capacity
+     *
+     * @return The Roller Coaster
+     */
+    static Coaster create(int passengers, int capacity) {
+        RollerCoasterLine line = new RollerCoasterLine();
+        RollerCoasterCar car = new RollerCoasterCar(1, line,
+                Integer.MAX_VALUE, capacity, TimeUnit.NANOSECONDS);
+        line.addCar(car);
+        return new ControllerCoaster(line, car, passengers);
+    }
+}
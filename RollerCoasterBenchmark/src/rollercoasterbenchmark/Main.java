@@ -0,0 +1,129 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.List;
+import java.util.Comparator;
+import java.util.ArrayList;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.Statistics;
+
+/**
+ * Runs every benchmark and reports throughput and tail latency of the
+ * implementations side by side. The queue, boarding and query benchmarks run
+ * once per passenger thread count.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class Main {
+
+    /**
+     * @param args the command line arguments (--threads=1,2,4,8 sets the
+     * passenger thread counts)
+     *
+     * @throws RunnerException If a benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        // Passenger thread counts
+        String threads = option(args, "threads", "1,2,4,8");
+        List<RunResult> results = new ArrayList<>();
+        for (String count : threads.split(",")) {
+            Options options = new OptionsBuilder()
+                    .include(QueueBenchmark.class.getSimpleName())
+                    .include(BoardingBenchmark.class.getSimpleName())
+                    .include(QueryBenchmark.class.getSimpleName())
+                    .threads(Integer.parseInt(count))
+                    .build();
+            results.addAll(new Runner(options).run());
+        }
+        Options options = new OptionsBuilder()
+                .include(RideCycleBenchmark.class.getSimpleName())
+                .build();
+        results.addAll(new Runner(options).run());
+        report(results);
+    }
+
+    /**
+     * Print one row per benchmark, passenger thread count and
+     * implementation.
+     *
+     * @param results Benchmark results
+     */
+    private static void report(List<RunResult> results) {
+        results.sort(Comparator
+                .comparing((RunResult r) -> r.getParams().getBenchmark())
+                .thenComparingInt(r -> Integer.parseInt(
+                        threads(r.getParams())))
+                .thenComparing(r -> r.getParams().getParam("implementation"))
+                .thenComparing(r -> r.getParams().getMode()));
+        System.out.println();
+        System.out.printf("%-40s %8s %-8s %14s %12s %12s %12s%n",
+                "Benchmark", "Threads", "Impl", "Throughput", "p50", "p99",
+                "p99.9");
+        for (int i = 0; i < results.size(); i++) {
+            RunResult throughput = results.get(i);
+            RunResult sample = i + 1 < results.size()
+                    ? results.get(i + 1) : null;
+            BenchmarkParams params = throughput.getParams();
+            // Throughput sorts before SampleTime, so rows come in pairs
+            if (sample == null || !sample.getParams().getBenchmark()
+                    .equals(params.getBenchmark())) {
+                continue;
+            }
+            i++;
+            Result score = throughput.getPrimaryResult();
+            Statistics latency = sample.getPrimaryResult().getStatistics();
+            String unit = sample.getPrimaryResult().getScoreUnit();
+            System.out.printf("%-40s %8s %-8s %14s %12s %12s %12s%n",
+                    params.getBenchmark().replace("rollercoasterbenchmark.",
+                            ""),
+                    threads(params),
+                    params.getParam("implementation"),
+                    String.format("%.3f %s", score.getScore(),
+                            score.getScoreUnit()),
+                    String.format("%.2f", latency.getPercentile(50)),
+                    String.format("%.2f", latency.getPercentile(99)),
+                    String.format("%.2f", latency.getPercentile(99.9))
+                    + " " + unit);
+        }
+    }
+
+    /**
+     * Get the number of passenger threads of a benchmark.
+     *
+     * @param params Benchmark parameters
+     *
+     * @return Number of passenger threads
+     */
+    private static String threads(BenchmarkParams params) {
+        String passengers = params.getParam("passengers");
+        return passengers != null ? passengers
+                : String.valueOf(params.getThreads());
+    }
+
+    /**
+     * Get the value of a command line option written as --name=value.
+     *
+     * @param args the command line arguments
+     * @param name Option name
+     * @param value Default value
+     *
+     * @return Option value or the default value if the option is missing
+     */
+    private static String option(String[] args, String name, String value) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import rollercoastercore.rollercoaster.CarState;
+
+/**
+ * Threads reading the state of the car, as the handler and the waiting
+ * passengers do. Nothing changes the state, so the benchmark shows how reads
+ * scale with the number of passenger threads.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    // Implementation
+    @Param({"lock", "stamped", "phaser", "monitor", "lockfree"})
+    public String implementation;
+
+    // Roller Coaster
+    private Coaster coaster;
+
+    /**
+     * Create the Roller Coaster.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benchmarks.silence();
+        this.coaster = Coaster.create(this.implementation,
+                Benchmarks.MAX_THREADS, 4);
+    }
+
+    /**
+     * Read the state of the car.
+     *
+     * @return State of the car
+     */
+    @Benchmark
+    public CarState state() {
+        return this.coaster.state();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/**
+ * Passengers joining and leaving the line. Every benchmark thread is a
+ * passenger; it only leaves the line when it is the next.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+    // Implementation
+    @Param({"lock", "platforms", "monitor", "lockfree"})
+    public String implementation;
+
+    // Roller Coaster
+    private Coaster coaster;
+
+    /**
+     * Passenger of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Rider {
+
+        // Passenger index
+        int passenger;
+
+        /**
+         * Use the thread index as passenger index.
+         *
+         * @param params Thread parameters
+         */
+        @Setup
+        public void setUp(ThreadParams params) {
+            this.passenger = params.getThreadIndex();
+        }
+    }
+
+    /**
+     * Create the Roller Coaster.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Benchmarks.silence();
+        this.coaster = Coaster.create(this.implementation,
+                Benchmarks.MAX_THREADS, 4);
+    }
+
+    /**
+     * Join and leave the line.
+     *
+     * @param rider Passenger of the thread
+     */
+    @Benchmark
+    public void joinAndLeave(Rider rider) {
+        this.coaster.join(rider.passenger);
+        this.coaster.leave(rider.passenger);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/**
+ * Full load, run and unload cycles. The benchmark thread is the handler and
+ * the passengers are background threads that ride over and over without
+ * walking in the park.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Threads(1)
+@Fork(1)
+public class RideCycleBenchmark {
+
+    // Car capacity
+    private static final int CAPACITY = 4;
+
+    // Implementation
+    @Param({"lock", "stamped", "phaser", "platforms", "monitor",
+        "lockfree"})
+    public String implementation;
+
+    // Number of passenger threads
+    @Param({"4", "16", "64"})
+    public int passengers;
+
+    // Roller Coaster
+    private Coaster coaster;
+    // Passenger threads
+    private List<Thread> riders;
+    // Passengers stop riding
+    private volatile boolean stopped;
+
+    /**
+     * Create the Roller Coaster and start the passengers.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Benchmarks.silence();
+        this.coaster = Coaster.create(this.implementation, this.passengers,
+                CAPACITY);
+        this.stopped = false;
+        this.riders = new ArrayList<>();
+        for (int i = 0; i < this.passengers; i++) {
+            int passenger = i;
+            Thread rider = new Thread(() -> {
+                while (!this.stopped && this.coaster.ride(passenger) >= 0) {
+                    // Ride again
+                }
+            });
+            rider.setDaemon(true);
+            rider.start();
+            this.riders.add(rider);
+        }
+    }
+
+    /**
+     * Stop the passengers. They are waiting in line, since every cycle ends
+     * with an empty car.
+     *
+     * @throws InterruptedException If interrupted while joining a passenger
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        this.stopped = true;
+        for (Thread rider : this.riders) {
+            rider.interrupt();
+        }
+        for (Thread rider : this.riders) {
+            rider.join();
+        }
+    }
+
+    /**
+     * Load, run and unload the car.
+     */
+    @Benchmark
+    public void cycle() {
+        this.coaster.cycle();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * GNU License.
+ */
+package rollercoasterbenchmark;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.lang.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import rollercoastercore.metrics.Histogram;
+
+/**
+ * Load runner that sweeps the number of passengers (n), the capacity of the
+ * car (C) and the number of rides (P) for every implementation. Each cell
+ * runs P full ride cycles with n passenger threads and prints one CSV row
+ * with the throughput, the time in line and the CPU time per ride. Cells
+ * where n is not greater than C are skipped, since the car could never
+ * depart. Each cell draws its car and passenger streams from its own root
+ * generator, seeded from the benchmark seed and the index of the cell, so a
+ * sweep is reproducible however many cells run at the same time.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class Sweep {
+
+    // CSV header
+    private static final String HEADER = "implementation,passengers,capacity,"
+            + "rides,seconds,rides_per_sec,mean_wait_ms,p99_wait_ms,cpu_ms,"
+            + "cpu_us_per_ride";
+
+    /**
+     * @param args the command line arguments (--implementations=lock,monitor
+     * sets the implementations, --passengers=8,32,128, --capacity=4,16 and
+     * --rides=1000 set the values of n, C and P, --parallel=N runs N cells at
+     * the same time)
+     *
+     * @throws InterruptedException If interrupted while waiting for a cell
+     * @throws ExecutionException If a cell fails
+     */
+    public static void main(String[] args) throws InterruptedException,
+            ExecutionException {
+        Benchmarks.silence();
+        // Implementations
+        String[] implementations = option(args, "implementations",
+                "lock,monitor,lockfree").split(",");
+        // Number of passengers (n)
+        int[] passengers = values(option(args, "passengers", "8,32,128"));
+        // Capacity of the car (C)
+        int[] capacities = values(option(args, "capacity", "4,16"));
+        // Number of rides (P)
+        int[] rides = values(option(args, "rides", "1000"));
+        // Number of cells run at the same time
+        int parallel = Integer.parseInt(option(args, "parallel", "1"));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads.isThreadCpuTimeSupported()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        // Runs the cells
+        ExecutorService executor = Executors.newFixedThreadPool(parallel);
+        List<Future<String>> cells = new ArrayList<>();
+        // Index of the next cell
+        int index = 0;
+        for (String implementation : implementations) {
+            for (int n : passengers) {
+                for (int c : capacities) {
+                    if (n <= c) {
+                        continue;
+                    }
+                    for (int p : rides) {
+                        long seed = Benchmarks.SEED ^ index++;
+                        cells.add(executor.submit(
+                                () -> cell(implementation, n, c, p, seed)));
+                    }
+                }
+            }
+        }
+        System.out.println(HEADER);
+        for (Future<String> cell : cells) {
+            System.out.println(cell.get());
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Run one cell of the sweep. The calling thread is the handler.
+     *
+     * @param implementation Implementation name
+     * @param passengers Number of passengers (n)
+     * @param capacity Capacity of the car (C)
+     * @param rides Number of rides (P)
+     * @param seed Seed of the root generator of the cell
+     *
+     * @return CSV row of the cell
+     *
+     * @throws InterruptedException If interrupted while joining a passenger
+     */
+    private static String cell(String implementation, int passengers,
+            int capacity, int rides, long seed) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Coaster coaster = Coaster.create(implementation, passengers, capacity,
+                new SplittableRandom(seed));
+        // Time in line of every ride
+        Histogram waits = new Histogram();
+        // CPU time of the passengers (nanoseconds)
+        long[] cpu = new long[passengers];
+        // Passengers stop riding
+        AtomicBoolean stopped = new AtomicBoolean();
+        // Starts the passengers
+        List<Thread> riders = new ArrayList<>();
+        for (int i = 0; i < passengers; i++) {
+            int passenger = i;
+            Thread rider = new Thread(() -> {
+                long wait;
+                while (!stopped.get()
+                        && (wait = coaster.ride(passenger)) >= 0) {
+                    waits.record(wait);
+                }
+                cpu[passenger] = threads.getCurrentThreadCpuTime();
+            });
+            rider.setDaemon(true);
+            rider.start();
+            riders.add(rider);
+        }
+        // Runs the rides
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        for (int i = 0; i < rides; i++) {
+            coaster.cycle();
+        }
+        long elapsed = System.nanoTime() - start;
+        long handlerCpu = threads.getCurrentThreadCpuTime() - cpuStart;
+        // Stops the passengers (they are waiting in line)
+        stopped.set(true);
+        for (Thread rider : riders) {
+            rider.interrupt();
+        }
+        for (Thread rider : riders) {
+            rider.join();
+        }
+        long totalCpu = handlerCpu;
+        for (long time : cpu) {
+            totalCpu += time;
+        }
+        Histogram.Snapshot snapshot = waits.snapshot();
+        double seconds = elapsed / 1e9;
+        return String.format(Locale.ROOT,
+                "%s,%d,%d,%d,%.3f,%.1f,%.3f,%.3f,%.1f,%.2f",
+                implementation, passengers, capacity, rides, seconds,
+                rides / seconds, snapshot.getMean(), snapshot.getP99(),
+                totalCpu / 1e6, totalCpu / 1e3 / rides);
+    }
+
+    /**
+     * Parse a comma separated list of integers.
+     *
+     * @param list Comma separated list
+     *
+     * @return Integers of the list
+     */
+    private static int[] values(String list) {
+        String[] items = list.split(",");
+        int[] values = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            values[i] = Integer.parseInt(items[i].trim());
+        }
+        return values;
+    }
+
+    /**
+     * Get the value of a command line option written as --name=value.
+     *
+     * @param args the command line arguments
+     * @param name Option name
+     * @param value Default value
+     *
+     * @return Option value or the default value if the option is missing
+     */
+    private static String option(String[] args, String name, String value) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return value;
+    }
+}
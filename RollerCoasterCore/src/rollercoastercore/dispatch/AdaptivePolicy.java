@@ -0,0 +1,85 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.dispatch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch policy with a deadline that adapts to the arrival rate. It keeps
+ * a moving average of the time between two passengers joining the line, and
+ * a car with the minimum load waits about as long as its free seats are
+ * expected to take to fill (twice that, to absorb bursts), never longer than
+ * the deadline. So a car short of a few seats in a busy line gives up
+ * quickly if they do not come, while a thin crowd gets the whole deadline.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class AdaptivePolicy extends DeadlinePolicy {
+
+    // Weight of the newest gap in the moving average
+    private static final double ALPHA = 0.125;
+    // Slack over the expected time to fill the free seats
+    private static final double SLACK = 2;
+
+    // When the last passenger joined the line (nanoseconds)
+    private long lastArrival;
+    // Moving average of the time between two arrivals (nanoseconds)
+    private double gap;
+
+    /**
+     * Constructor.
+     *
+     * @param minLoad Passengers on board before the car may depart early
+     * @param deadline Longest wait after the first boarding
+     * @param unit Time unit of the deadline
+     */
+    public AdaptivePolicy(int minLoad, long deadline, TimeUnit unit) {
+        super(minLoad, deadline, unit);
+    }
+
+    /**
+     * Get the moving average of the time between two arrivals.
+     *
+     * @return Time between two arrivals (nanoseconds) or 0 before the second
+     * arrival
+     */
+    public synchronized double getGap() {
+        return this.gap;
+    }
+
+    @Override
+    public long getMaxWait(int seated, int capacity) {
+        long wait = super.getMaxWait(seated, capacity);
+        if (wait == Long.MAX_VALUE) {
+            return wait;
+        }
+        double gap = this.getGap();
+        if (gap == 0) {
+            return wait;
+        }
+        // Time the free seats are expected to take to fill
+        double fill = SLACK * gap * (capacity - seated);
+        return (long) Math.min(fill, wait);
+    }
+
+    @Override
+    public synchronized void recordArrival(long nanos) {
+        if (this.lastArrival != 0) {
+            double last = Math.max(nanos - this.lastArrival, 0);
+            this.gap = this.gap == 0 ? last : this.gap + ALPHA
+                    * (last - this.gap);
+        }
+        this.lastArrival = nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePolicy{" + "Minimum load = " + this.getMinLoad()
+                + ", Deadline = "
+                + TimeUnit.NANOSECONDS.toMillis(this.getDeadline()) + " ms"
+                + ", Arrival gap = " + String.format("%.1f",
+                        this.getGap() / 1e6) + " ms" + '}';
+    }
+}
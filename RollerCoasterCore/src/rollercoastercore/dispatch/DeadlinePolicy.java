@@ -0,0 +1,77 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.dispatch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch policy with a fixed deadline: a car that seated at least a
+ * minimum load departs once its first passenger has waited on board for the
+ * deadline, full or not.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class DeadlinePolicy implements DispatchPolicy {
+
+    // Passengers on board before the car may depart early
+    private final int minLoad;
+    // Longest wait after the first boarding (nanoseconds)
+    private final long deadline;
+
+    /**
+     * Constructor.
+     *
+     * @param minLoad Passengers on board before the car may depart early
+     * @param deadline Longest wait after the first boarding
+     * @param unit Time unit of the deadline
+     */
+    public DeadlinePolicy(int minLoad, long deadline, TimeUnit unit) {
+        if (minLoad < 1) {
+            throw new IllegalArgumentException("Invalid minimum load: "
+                    + minLoad);
+        }
+        if (deadline < 0) {
+            throw new IllegalArgumentException("Invalid deadline: "
+                    + deadline);
+        }
+        this.minLoad = minLoad;
+        this.deadline = unit.toNanos(deadline);
+    }
+
+    /**
+     * Get the passengers on board before the car may depart early.
+     *
+     * @return Minimum load
+     */
+    public int getMinLoad() {
+        return this.minLoad;
+    }
+
+    /**
+     * Get the longest wait after the first boarding.
+     *
+     * @return Deadline (nanoseconds)
+     */
+    public long getDeadline() {
+        return this.deadline;
+    }
+
+    @Override
+    public long getMaxWait(int seated, int capacity) {
+        return seated < this.minLoad ? Long.MAX_VALUE : this.deadline;
+    }
+
+    @Override
+    public void recordArrival(long nanos) {
+        // The deadline does not depend on the arrivals
+    }
+
+    @Override
+    public String toString() {
+        return "DeadlinePolicy{" + "Minimum load = " + this.minLoad
+                + ", Deadline = " + TimeUnit.NANOSECONDS.toMillis(this.deadline)
+                + " ms" + '}';
+    }
+}
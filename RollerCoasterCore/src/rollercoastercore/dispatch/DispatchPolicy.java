@@ -0,0 +1,37 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.dispatch;
+
+/**
+ * Decides when a loading car departs. A car always departs when it is full;
+ * a policy may let it depart earlier, once it has waited long enough since
+ * its first boarding. The line reports every passenger that joins it, so a
+ * policy may adapt to the arrival rate.
+ *
+ * Policies are shared by every car of a line and must be thread-safe.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public interface DispatchPolicy {
+
+    /**
+     * Get how long a loading car may wait for more passengers after its
+     * first boarding.
+     *
+     * @param seated Passengers on board
+     * @param capacity Capacity of the car
+     *
+     * @return Longest wait (nanoseconds) or Long.MAX_VALUE to wait for a full
+     * car
+     */
+    long getMaxWait(int seated, int capacity);
+
+    /**
+     * Record a passenger joining the line.
+     *
+     * @param nanos When the passenger joined (System.nanoTime)
+     */
+    void recordArrival(long nanos);
+}
@@ -0,0 +1,29 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.dispatch;
+
+/**
+ * Dispatch policy of the original problem: a car only departs when it is
+ * full.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class FullCarPolicy implements DispatchPolicy {
+
+    @Override
+    public long getMaxWait(int seated, int capacity) {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public void recordArrival(long nanos) {
+        // The wait does not depend on the arrivals
+    }
+
+    @Override
+    public String toString() {
+        return "FullCarPolicy{}";
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.journal;
+
+import java.nio.file.Path;
+import java.nio.ByteOrder;
+import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import rollercoastercore.log.EventLog;
+
+/**
+ * Binary journal of every state transition of the Roller Coaster. Records
+ * have a fixed size and are written straight into a memory-mapped file, so
+ * recording costs a few stores and no formatting or system call.
+ *
+ * Each thread reserves a chunk of the file at once and appends its records
+ * to it, so threads only contend when they reserve a new chunk. The first
+ * chunk of a thread is small and each later one is twice as large, up to a
+ * limit, so the many passenger threads that record a few events each do not
+ * fill the file with empty slots while busy threads rarely reserve. Records of
+ * one thread are in order in the file, but records of different threads are
+ * interleaved by chunk. Slots left empty at the end of a chunk are zero and
+ * skipped by readers.
+ *
+ * The file starts with a header (magic, version, record size, start time,
+ * end offset and number of dropped records) followed by the records (time
+ * since the start in nanoseconds, event code, car ID, passenger ID and ride
+ * number). When the file is full, further records are dropped and counted.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public final class Journal {
+
+    // Marks a journal file ("RCJ1")
+    public static final int MAGIC = 0x52434A31;
+    // Version of the file format
+    public static final int VERSION = 1;
+    // Size of the header (bytes)
+    public static final int HEADER = 64;
+    // Size of a record (bytes)
+    public static final int RECORD = 24;
+    // Default size of the file (bytes)
+    public static final long SIZE = 64L << 20;
+    // Byte order of the file
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    // Offsets of the header fields
+    static final int START = 16;
+    static final int END = 24;
+    static final int DROPPED = 32;
+    // Number of records of the first chunk of a thread
+    private static final int FIRST_CHUNK = 8;
+    // Largest number of records reserved by a thread at once
+    private static final int CHUNK = 128;
+
+    // Current journal (null when off)
+    private static volatile Journal journal;
+
+    // Journal file
+    private final Path path;
+    // Journal file channel
+    private final FileChannel channel;
+    // Mapped journal file
+    private final MappedByteBuffer buffer;
+    // Offset of the next free chunk
+    private final AtomicLong next;
+    // When the journal started (nanoseconds)
+    private final long start;
+    // Number of written and dropped records
+    private final LongAdder written;
+    private final LongAdder dropped;
+    // Chunk each thread appends to
+    private final ThreadLocal<ByteBuffer> chunks;
+
+    /**
+     * Constructor.
+     *
+     * @param path Journal file
+     * @param size Size of the file (bytes)
+     *
+     * @throws IOException If the file cannot be created or mapped
+     */
+    private Journal(Path path, long size) throws IOException {
+        if (size < HEADER + RECORD * CHUNK || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid journal size: "
+                    + size);
+        }
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                size);
+        this.buffer.order(ORDER);
+        this.next = new AtomicLong(HEADER);
+        this.start = System.nanoTime();
+        this.written = new LongAdder();
+        this.dropped = new LongAdder();
+        this.chunks = new ThreadLocal<>();
+        this.buffer.putInt(0, MAGIC);
+        this.buffer.putInt(4, VERSION);
+        this.buffer.putInt(8, RECORD);
+        this.buffer.putLong(START, System.currentTimeMillis());
+    }
+
+    /**
+     * Start a journal, closing the current one first.
+     *
+     * @param path Journal file (replaced if it exists)
+     * @param size Size of the file (bytes)
+     *
+     * @throws IOException If the file cannot be created or mapped
+     */
+    public static synchronized void open(Path path, long size)
+            throws IOException {
+        close();
+        journal = new Journal(path, size);
+    }
+
+    /**
+     * Write the end of the journal to its header, flush it to the file and
+     * stop recording. Records made after closing are discarded.
+     */
+    public static synchronized void close() {
+        Journal current = journal;
+        if (current == null) {
+            return;
+        }
+        journal = null;
+        long end = Math.min(current.next.get(), current.buffer.capacity());
+        end -= (end - HEADER) % RECORD;
+        current.buffer.putLong(END, end);
+        current.buffer.putLong(DROPPED, current.dropped.sum());
+        current.buffer.force();
+        try {
+            current.channel.close();
+        } catch (IOException ex) {
+            Logger.getLogger(Journal.class.getName())
+                    .log(Level.SEVERE, null, ex);
+        }
+        EventLog.info(null, current.toString());
+    }
+
+    /**
+     * Get true if a journal is recording and false otherwise.
+     *
+     * @return True if a journal is recording and false otherwise
+     */
+    public static boolean isEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * Record a state transition, if a journal is recording.
+     *
+     * @param event What happened
+     * @param car Car ID (0 if none)
+     * @param passenger Passenger ID (0 if none)
+     * @param ride Ride number of the car or of the passenger
+     */
+    public static void record(JournalEvent event, int car, int passenger,
+            int ride) {
+        Journal current = journal;
+        if (current != null) {
+            current.append(event, car, passenger, ride);
+        }
+    }
+
+    /**
+     * Append a record to the chunk of the calling thread, reserving a new
+     * chunk when it is full.
+     *
+     * @param event What happened
+     * @param car Car ID
+     * @param passenger Passenger ID
+     * @param ride Ride number
+     */
+    private void append(JournalEvent event, int car, int passenger,
+            int ride) {
+        ByteBuffer chunk = this.chunks.get();
+        if (chunk == null || !chunk.hasRemaining()) {
+            // Twice the records of the last chunk of the thread
+            chunk = this.reserve(chunk == null ? FIRST_CHUNK
+                    : Math.min(CHUNK, 2 * chunk.capacity() / RECORD));
+            if (chunk == null) {
+                this.dropped.increment();
+                return;
+            }
+            this.chunks.set(chunk);
+        }
+        chunk.putLong(System.nanoTime() - this.start)
+                .putInt(event.getCode())
+                .putInt(car)
+                .putInt(passenger)
+                .putInt(ride);
+        this.written.increment();
+    }
+
+    /**
+     * Reserve the next free chunk of the file.
+     *
+     * @param records Number of records of the chunk
+     *
+     * @return The chunk or null if the file is full
+     */
+    private ByteBuffer reserve(int records) {
+        int bytes = RECORD * records;
+        long offset = this.next.getAndAdd(bytes);
+        if (offset + bytes > this.buffer.capacity()) {
+            // Use the records left at the end of the file, if any
+            int left = (int) Math.max(0, this.buffer.capacity() - offset);
+            left -= left % RECORD;
+            if (left == 0) {
+                return null;
+            }
+            bytes = left;
+        }
+        return this.buffer.slice((int) offset, bytes).order(ORDER);
+    }
+
+    @Override
+    public String toString() {
+        return "Journal{" + "File = " + this.path
+                + ", Records = " + this.written.sum()
+                + ", Dropped = " + this.dropped.sum() + '}';
+    }
+}
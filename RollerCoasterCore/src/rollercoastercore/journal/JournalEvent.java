@@ -0,0 +1,75 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.journal;
+
+/**
+ * State transitions recorded in the journal. The code of an event is stored
+ * in each record; code 0 marks a slot that was never written.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public enum JournalEvent {
+    // A passenger joined the line
+    JOIN(1),
+    // A passenger boarded a car
+    BOARD(2),
+    // A passenger left a car
+    UNBOARD(3),
+    // A car allowed boarding
+    LOAD(4),
+    // A car allowed unboarding
+    UNLOAD(5),
+    // A car started a ride
+    RIDE_START(6),
+    // A car ended a ride
+    RIDE_END(7),
+    // A passenger started walking in the park
+    WALK_START(8),
+    // A passenger came back from the park
+    WALK_END(9),
+    // A passenger left the park
+    LEAVE(10);
+
+    // Events by code
+    private static final JournalEvent[] CODES = new JournalEvent[11];
+
+    static {
+        for (JournalEvent event : values()) {
+            CODES[event.code] = event;
+        }
+    }
+
+    // Code stored in the journal
+    private final int code;
+
+    /**
+     * Constructor.
+     *
+     * @param code Code stored in the journal
+     */
+    JournalEvent(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Get the code stored in the journal.
+     *
+     * @return Code stored in the journal
+     */
+    public int getCode() {
+        return this.code;
+    }
+
+    /**
+     * Get the event of a code.
+     *
+     * @param code Code stored in the journal
+     *
+     * @return The event or null if the code is unknown or marks an empty slot
+     */
+    public static JournalEvent of(int code) {
+        return code > 0 && code < CODES.length ? CODES[code] : null;
+    }
+}
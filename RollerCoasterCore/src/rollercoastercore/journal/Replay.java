@@ -0,0 +1,293 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.journal;
+
+import java.util.Map;
+import java.util.Date;
+import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import rollercoastercore.metrics.Histogram;
+
+/**
+ * Replays a journal: streams its records in blocks, prints the timeline of a
+ * passenger or a car and rebuilds the statistics of the day. Only one block
+ * and the last open event of each passenger and car are kept in memory, so
+ * the size of the journal does not matter.
+ *
+ * Records of one thread are in order in the file and every passenger event is
+ * recorded by the passenger itself, so the timeline of a passenger or of a
+ * car is in order even though the whole file is not.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class Replay {
+
+    // Records read at once
+    private static final int BLOCK = 4096;
+
+    // Passenger filter (0 for every passenger)
+    private final int passenger;
+    // Car filter (0 for every car)
+    private final int car;
+    // Print the timeline of every record that passes the filters
+    private final boolean timeline;
+
+    // Number of records of each event
+    private final long[] counts;
+    // First and last timestamps (nanoseconds)
+    private long first;
+    private long last;
+    // Last open event of each passenger (timestamp)
+    private final Map<Integer, Long> joined;
+    private final Map<Integer, Long> boarded;
+    private final Map<Integer, Long> walking;
+    // Last open event of each car (timestamp)
+    private final Map<Integer, Long> loading;
+    private final Map<Integer, Long> riding;
+    // Durations
+    private final Histogram timeInLine;
+    private final Histogram timeOnBoard;
+    private final Histogram walkTime;
+    private final Histogram loadTime;
+    private final Histogram rideTime;
+
+    /**
+     * Constructor.
+     *
+     * @param passenger Passenger filter (0 for every passenger)
+     * @param car Car filter (0 for every car)
+     * @param timeline Print the timeline of every record that passes the
+     * filters
+     */
+    public Replay(int passenger, int car, boolean timeline) {
+        this.passenger = passenger;
+        this.car = car;
+        this.timeline = timeline || passenger != 0 || car != 0;
+        this.counts = new long[JournalEvent.values().length];
+        this.first = Long.MAX_VALUE;
+        this.last = Long.MIN_VALUE;
+        this.joined = new HashMap<>();
+        this.boarded = new HashMap<>();
+        this.walking = new HashMap<>();
+        this.loading = new HashMap<>();
+        this.riding = new HashMap<>();
+        this.timeInLine = new Histogram();
+        this.timeOnBoard = new Histogram();
+        this.walkTime = new Histogram();
+        this.loadTime = new Histogram();
+        this.rideTime = new Histogram();
+    }
+
+    /**
+     * @param args the command line arguments (the journal file,
+     * --passenger=ID or --car=ID print the timeline of a passenger or a car,
+     * --timeline prints every record)
+     *
+     * @throws IOException If the journal cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        String file = null;
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                file = arg;
+            }
+        }
+        if (file == null) {
+            System.err.println("Usage: Replay journal [--passenger=ID]"
+                    + " [--car=ID] [--timeline]");
+            System.exit(1);
+        }
+        Replay replay = new Replay(
+                Integer.parseInt(option(args, "passenger", "0")),
+                Integer.parseInt(option(args, "car", "0")),
+                option(args, "timeline", null) != null);
+        System.out.println(replay.replay(Paths.get(file)));
+    }
+
+    /**
+     * Stream the records of a journal.
+     *
+     * @param path Journal file
+     *
+     * @return Statistics of the journal
+     *
+     * @throws IOException If the file cannot be read or is not a journal
+     */
+    public String replay(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            // Header
+            ByteBuffer header = ByteBuffer.allocate(Journal.HEADER)
+                    .order(Journal.ORDER);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read the whole header
+            }
+            if (header.hasRemaining() || header.getInt(0) != Journal.MAGIC
+                    || header.getInt(4) != Journal.VERSION
+                    || header.getInt(8) != Journal.RECORD) {
+                throw new IOException("Not a journal: " + path);
+            }
+            long started = header.getLong(Journal.START);
+            long end = header.getLong(Journal.END);
+            long dropped = header.getLong(Journal.DROPPED);
+            // A journal that was not closed is read to the end of the file
+            if (end == 0) {
+                end = channel.size();
+            }
+            // Records
+            ByteBuffer block = ByteBuffer.allocate(Journal.RECORD * BLOCK)
+                    .order(Journal.ORDER);
+            long position = Journal.HEADER;
+            while (position < end) {
+                block.clear();
+                block.limit((int) Math.min(block.capacity(), end - position));
+                int read = channel.read(block, position);
+                if (read <= 0) {
+                    break;
+                }
+                position += read - read % Journal.RECORD;
+                block.flip();
+                while (block.remaining() >= Journal.RECORD) {
+                    long time = block.getLong();
+                    JournalEvent event = JournalEvent.of(block.getInt());
+                    int c = block.getInt();
+                    int p = block.getInt();
+                    int ride = block.getInt();
+                    if (event != null) {
+                        this.apply(time, event, c, p, ride);
+                    }
+                }
+            }
+            return this.summary(started, dropped);
+        }
+    }
+
+    /**
+     * Apply a record to the statistics and print it if it passes the
+     * filters.
+     *
+     * @param time Time since the start of the journal (nanoseconds)
+     * @param event What happened
+     * @param c Car ID
+     * @param p Passenger ID
+     * @param ride Ride number
+     */
+    private void apply(long time, JournalEvent event, int c, int p,
+            int ride) {
+        this.counts[event.ordinal()]++;
+        this.first = Math.min(this.first, time);
+        this.last = Math.max(this.last, time);
+        switch (event) {
+            case JOIN:
+                this.joined.put(p, time);
+                break;
+            case BOARD:
+                close(this.joined, p, time, this.timeInLine);
+                this.boarded.put(p, time);
+                break;
+            case UNBOARD:
+                close(this.boarded, p, time, this.timeOnBoard);
+                break;
+            case WALK_START:
+                this.walking.put(p, time);
+                break;
+            case WALK_END:
+                close(this.walking, p, time, this.walkTime);
+                break;
+            case LOAD:
+                this.loading.put(c, time);
+                break;
+            case RIDE_START:
+                close(this.loading, c, time, this.loadTime);
+                this.riding.put(c, time);
+                break;
+            case RIDE_END:
+                close(this.riding, c, time, this.rideTime);
+                break;
+            default:
+                break;
+        }
+        if (this.timeline && (this.passenger == 0 || this.passenger == p)
+                && (this.car == 0 || this.car == c)) {
+            System.out.printf("%14.6f s %-10s car %d passenger %d ride %d%n",
+                    time / 1e9, event, c, p, ride);
+        }
+    }
+
+    /**
+     * Record the duration of an open event and close it.
+     *
+     * @param open Open events by ID
+     * @param id Passenger or car ID
+     * @param time When the event closed (nanoseconds)
+     * @param histogram Histogram of the duration
+     */
+    private static void close(Map<Integer, Long> open, int id, long time,
+            Histogram histogram) {
+        Long start = open.remove(id);
+        if (start != null) {
+            histogram.record(time - start);
+        }
+    }
+
+    /**
+     * Get the statistics of the replayed records.
+     *
+     * @param started When the journal started (epoch milliseconds)
+     * @param dropped Number of dropped records
+     *
+     * @return Statistics of the replayed records
+     */
+    private String summary(long started, long dropped) {
+        StringBuilder text = new StringBuilder();
+        text.append("Journal{Started = ").append(new Date(started));
+        text.append(", Span = ").append(this.first > this.last ? 0
+                : String.format("%.3f", (this.last - this.first) / 1e9))
+                .append(" s");
+        for (JournalEvent event : JournalEvent.values()) {
+            text.append(", ").append(event).append(" = ")
+                    .append(this.counts[event.ordinal()]);
+        }
+        text.append(", Dropped = ").append(dropped).append('}');
+        text.append(System.lineSeparator())
+                .append("Time in line {").append(this.timeInLine.snapshot())
+                .append('}').append(System.lineSeparator())
+                .append("Time on board {").append(this.timeOnBoard.snapshot())
+                .append('}').append(System.lineSeparator())
+                .append("Walk {").append(this.walkTime.snapshot())
+                .append('}').append(System.lineSeparator())
+                .append("Load {").append(this.loadTime.snapshot())
+                .append('}').append(System.lineSeparator())
+                .append("Ride {").append(this.rideTime.snapshot()).append('}');
+        return text.toString();
+    }
+
+    /**
+     * Get the value of a command line option written as --name=value. An
+     * option written as --name has an empty value.
+     *
+     * @param args the command line arguments
+     * @param name Option name
+     * @param value Default value
+     *
+     * @return Option value or the default value if the option is missing
+     */
+    private static String option(String[] args, String name, String value) {
+        for (String arg : args) {
+            if (arg.equals("--" + name)) {
+                return "";
+            }
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.log;
+
+import java.util.List;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous event log of the Roller Coaster. Logging an event only puts it
+ * in a bounded buffer; a background writer takes the events in batches,
+ * formats them and prints them. So the cars and the passengers never wait for
+ * the console while holding a lock.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public final class EventLog {
+
+    /**
+     * Log levels. Car and handler operations are INFO, passenger operations
+     * are DEBUG.
+     */
+    public enum Level {
+        DEBUG,
+        INFO,
+        OFF
+    }
+
+    /**
+     * What to do when the buffer is full.
+     */
+    public enum Overflow {
+        // Discard the event
+        DROP,
+        // Wait for the writer to free space
+        BLOCK
+    }
+
+    /**
+     * Logged event.
+     */
+    private static final class Event {
+
+        // Source of the event (a passenger, a car name or null)
+        private final Object source;
+        // What happened
+        private final String message;
+
+        /**
+         * Constructor.
+         *
+         * @param source Source of the event
+         * @param message What happened
+         */
+        private Event(Object source, String message) {
+            this.source = source;
+            this.message = message;
+        }
+    }
+
+    // Default size of the buffer
+    public static final int CAPACITY = 8192;
+    // Largest number of events printed at once
+    private static final int BATCH = 512;
+    // Longest wait for space in the buffer before checking again if the log
+    // was closed (milliseconds)
+    private static final long WAIT = 10;
+    // Marks the end of the log
+    private static final Event END = new Event(null, null);
+
+    // Current log
+    private static volatile EventLog log = new EventLog(Level.DEBUG,
+            Overflow.BLOCK, CAPACITY, System.out);
+
+    // Lowest level printed
+    private final Level level;
+    // What to do when the buffer is full
+    private final Overflow overflow;
+    // Events not printed yet
+    private final BlockingQueue<Event> buffer;
+    // Where events are printed
+    private final PrintStream out;
+    // Number of discarded events
+    private final LongAdder dropped;
+    // Background writer (null when the log is off)
+    private final Thread writer;
+    // The log was closed
+    private volatile boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param level Lowest level printed
+     * @param overflow What to do when the buffer is full
+     * @param capacity Size of the buffer
+     * @param out Where events are printed
+     */
+    private EventLog(Level level, Overflow overflow, int capacity,
+            PrintStream out) {
+        this.level = level;
+        this.overflow = overflow;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.out = out;
+        this.dropped = new LongAdder();
+        if (level == Level.OFF) {
+            this.writer = null;
+        } else {
+            this.writer = new Thread(this::write, "event-log");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Replace the current log. Events of the previous log are printed first.
+     *
+     * @param level Lowest level printed (OFF discards every event)
+     * @param overflow What to do when the buffer is full
+     * @param capacity Size of the buffer
+     */
+    public static synchronized void configure(Level level, Overflow overflow,
+            int capacity) {
+        close();
+        log = new EventLog(level, overflow, capacity, System.out);
+    }
+
+    /**
+     * Print every pending event and stop the writer. Events logged after
+     * closing are discarded.
+     */
+    public static synchronized void close() {
+        EventLog current = log;
+        if (current.writer == null || !current.writer.isAlive()) {
+            return;
+        }
+        log = new EventLog(Level.OFF, Overflow.DROP, 1, current.out);
+        current.closed = true;
+        try {
+            current.buffer.put(END);
+            current.writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        long dropped = current.dropped.sum();
+        if (dropped > 0) {
+            current.out.println(dropped + " events dropped.");
+        }
+    }
+
+    /**
+     * Get true if events of the level are printed and false otherwise.
+     *
+     * @param level Log level
+     *
+     * @return True if events of the level are printed and false otherwise
+     */
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(log.level) >= 0 && level != Level.OFF;
+    }
+
+    /**
+     * Log a passenger operation.
+     *
+     * @param source Source of the event (printed before the message)
+     * @param message What happened
+     */
+    public static void debug(Object source, String message) {
+        log.add(Level.DEBUG, source, message);
+    }
+
+    /**
+     * Log a car or handler operation.
+     *
+     * @param source Source of the event (printed before the message)
+     * @param message What happened
+     */
+    public static void info(Object source, String message) {
+        log.add(Level.INFO, source, message);
+    }
+
+    /**
+     * Put an event in the buffer. A blocked event gives up once the log is
+     * closed, and an event put while the log closes is taken back and
+     * counted as dropped unless the writer already took it.
+     *
+     * @param level Log level
+     * @param source Source of the event
+     * @param message What happened
+     */
+    private void add(Level level, Object source, String message) {
+        if (level.compareTo(this.level) < 0 || this.writer == null
+                || this.closed) {
+            return;
+        }
+        Event event = new Event(source, message);
+        if (this.overflow == Overflow.DROP) {
+            if (!this.buffer.offer(event)) {
+                this.dropped.increment();
+                return;
+            }
+        } else {
+            try {
+                while (!this.buffer.offer(event, WAIT,
+                        TimeUnit.MILLISECONDS)) {
+                    // Check if the log was closed while waiting
+                    if (this.closed) {
+                        this.dropped.increment();
+                        return;
+                    }
+                }
+            } catch (InterruptedException ex) {
+                this.dropped.increment();
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        // Check if the log was closed meanwhile (the writer may be gone)
+        if (this.closed && this.buffer.remove(event)) {
+            this.dropped.increment();
+        }
+    }
+
+    /**
+     * Background writer. Takes the events in batches and prints each batch at
+     * once. After the end of the log, it prints the events still in the
+     * buffer, so an event is either printed or counted as dropped.
+     */
+    private void write() {
+        List<Event> batch = new ArrayList<>(BATCH);
+        StringBuilder text = new StringBuilder();
+        boolean end = false;
+        while (!end) {
+            try {
+                batch.add(this.buffer.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            this.buffer.drainTo(batch, BATCH - 1);
+            end = this.print(batch, text);
+        }
+        // Events put while the log closed
+        this.buffer.drainTo(batch);
+        this.print(batch, text);
+    }
+
+    /**
+     * Print a batch of events at once and clear it.
+     *
+     * @param batch Events to print
+     * @param text Reused text of the batch
+     *
+     * @return True if the batch had the end of the log and false otherwise
+     */
+    private boolean print(List<Event> batch, StringBuilder text) {
+        boolean end = false;
+        for (Event event : batch) {
+            if (event == END) {
+                end = true;
+                continue;
+            }
+            if (event.source != null) {
+                text.append(event.source).append(' ');
+            }
+            text.append(event.message).append(System.lineSeparator());
+        }
+        this.out.print(text);
+        this.out.flush();
+        text.setLength(0);
+        batch.clear();
+        return end;
+    }
+}
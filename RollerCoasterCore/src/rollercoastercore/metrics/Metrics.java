@@ -0,0 +1,247 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.metrics;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.util.concurrent.TimeUnit;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+
+/**
+ * Operational metrics of the Roller Coaster: ride throughput, seat
+ * utilization and histograms of the time in line and of the load, unload and
+ * ride phases. Recording only updates lock-free counters, so the cars and the
+ * passengers record while holding their locks at no extra contention. The
+ * metrics are exposed through JMX once registered.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public final class Metrics implements MetricsMXBean {
+
+    // Name of the MBean
+    public static final String NAME = "rollercoaster:type=Metrics";
+
+    // Metrics of the process
+    private static final Metrics METRICS = new Metrics();
+
+    // When the metrics started (nanoseconds)
+    private final long start;
+    // Total number of rides
+    private final LongAdder rides;
+    // Seats taken and seats offered when the cars departed
+    private final LongAdder seatsTaken;
+    private final LongAdder seatsOffered;
+    // Time from joining the line to boarding
+    private final Histogram timeInLine;
+    // Time in line of each tier (fast-pass and standby)
+    private final Histogram fastPassTimeInLine;
+    private final Histogram standbyTimeInLine;
+    // Time from joining the line to the departure of the car
+    private final Histogram timeToRide;
+    // Time from load to the departure of the car
+    private final Histogram loadTime;
+    // Time from unload to an empty car
+    private final Histogram unloadTime;
+    // Ride duration
+    private final Histogram rideTime;
+
+    /**
+     * Constructor.
+     */
+    private Metrics() {
+        this.start = System.nanoTime();
+        this.rides = new LongAdder();
+        this.seatsTaken = new LongAdder();
+        this.seatsOffered = new LongAdder();
+        this.timeInLine = new Histogram();
+        this.fastPassTimeInLine = new Histogram();
+        this.standbyTimeInLine = new Histogram();
+        this.timeToRide = new Histogram();
+        this.loadTime = new Histogram();
+        this.unloadTime = new Histogram();
+        this.rideTime = new Histogram();
+    }
+
+    /**
+     * Register the metrics in the platform MBean server. Registering twice
+     * has no effect.
+     */
+    public static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(METRICS,
+                    new ObjectName(NAME));
+        } catch (InstanceAlreadyExistsException ex) {
+            // Already registered
+        } catch (JMException ex) {
+            Logger.getLogger(Metrics.class.getName())
+                    .log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Get a summary of every metric.
+     *
+     * @return Summary of every metric
+     */
+    public static String summary() {
+        return METRICS.toString();
+    }
+
+    /**
+     * Record the time a passenger of a tier spent in line.
+     *
+     * @param nanos Time from joining the line to boarding (nanoseconds)
+     * @param fastPass True if the passenger has a fast pass
+     */
+    public static void recordTimeInLine(long nanos, boolean fastPass) {
+        METRICS.timeInLine.record(nanos);
+        if (fastPass) {
+            METRICS.fastPassTimeInLine.record(nanos);
+        } else {
+            METRICS.standbyTimeInLine.record(nanos);
+        }
+    }
+
+    /**
+     * Record the time a passenger waited for its ride.
+     *
+     * @param nanos Time from joining the line to the departure of the car
+     * (nanoseconds)
+     */
+    public static void recordTimeToRide(long nanos) {
+        METRICS.timeToRide.record(nanos);
+    }
+
+    /**
+     * Record a load phase.
+     *
+     * @param nanos Time from load to the departure of the car (nanoseconds)
+     */
+    public static void recordLoad(long nanos) {
+        METRICS.loadTime.record(nanos);
+    }
+
+    /**
+     * Record an unload phase.
+     *
+     * @param nanos Time from unload to an empty car (nanoseconds)
+     */
+    public static void recordUnload(long nanos) {
+        METRICS.unloadTime.record(nanos);
+    }
+
+    /**
+     * Record a ride.
+     *
+     * @param nanos Ride duration (nanoseconds)
+     * @param passengers Number of passengers on board
+     * @param capacity Capacity of the car
+     */
+    public static void recordRide(long nanos, int passengers, int capacity) {
+        METRICS.rideTime.record(nanos);
+        METRICS.rides.increment();
+        METRICS.seatsTaken.add(passengers);
+        METRICS.seatsOffered.add(capacity);
+    }
+
+    @Override
+    public long getRides() {
+        return this.rides.sum();
+    }
+
+    @Override
+    public double getRidesPerHour() {
+        long elapsed = System.nanoTime() - this.start;
+        return elapsed <= 0 ? 0 : this.rides.sum()
+                * (double) TimeUnit.HOURS.toNanos(1) / elapsed;
+    }
+
+    @Override
+    public double getSeatUtilization() {
+        long offered = this.seatsOffered.sum();
+        return offered == 0 ? 0 : this.seatsTaken.sum() / (double) offered;
+    }
+
+    @Override
+    public Histogram.Snapshot getTimeInLine() {
+        return this.timeInLine.snapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getFastPassTimeInLine() {
+        return this.fastPassTimeInLine.snapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getStandbyTimeInLine() {
+        return this.standbyTimeInLine.snapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getTimeToRide() {
+        return this.timeToRide.snapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getLoadTime() {
+        return this.loadTime.snapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getUnloadTime() {
+        return this.unloadTime.snapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getRideTime() {
+        return this.rideTime.snapshot();
+    }
+
+    /**
+     * Get the time in line of each tier, if any passenger has a fast pass.
+     *
+     * @return Time in line of each tier or an empty string
+     */
+    private String tiers() {
+        Histogram.Snapshot fastPass = this.getFastPassTimeInLine();
+        if (fastPass.getCount() == 0) {
+            return "";
+        }
+        return ", Fast-pass {" + fastPass + "}"
+                + ", Standby {" + this.getStandbyTimeInLine() + "}";
+    }
+
+    /**
+     * Get the time to ride, if any car recorded it.
+     *
+     * @return Time to ride or an empty string
+     */
+    private String timeToRideSummary() {
+        Histogram.Snapshot timeToRide = this.getTimeToRide();
+        if (timeToRide.getCount() == 0) {
+            return "";
+        }
+        return ", Time to ride {" + timeToRide + "}";
+    }
+
+    @Override
+    public String toString() {
+        return "Metrics{" + "Rides = " + this.getRides()
+                + ", Rides per hour = "
+                + String.format("%.1f", this.getRidesPerHour())
+                + ", Seat utilization = "
+                + String.format("%.1f", this.getSeatUtilization() * 100) + "%"
+                + ", Time in line {" + this.getTimeInLine() + "}"
+                + this.tiers()
+                + this.timeToRideSummary()
+                + ", Load {" + this.getLoadTime() + "}"
+                + ", Unload {" + this.getUnloadTime() + "}"
+                + ", Ride {" + this.getRideTime() + "}" + '}';
+    }
+}
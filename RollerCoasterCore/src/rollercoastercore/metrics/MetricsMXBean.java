@@ -0,0 +1,88 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.metrics;
+
+/**
+ * Management interface of the Roller Coaster metrics. Durations are summarized
+ * as count, mean, p50, p99 and maximum in milliseconds.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Get the total number of rides.
+     *
+     * @return Total number of rides
+     */
+    long getRides();
+
+    /**
+     * Get the number of rides per hour since the metrics started.
+     *
+     * @return Rides per hour
+     */
+    double getRidesPerHour();
+
+    /**
+     * Get the fraction of the seats that were taken when the cars departed.
+     *
+     * @return Seat utilization (0 to 1)
+     */
+    double getSeatUtilization();
+
+    /**
+     * Get the time passengers spent in line, from joining it to boarding.
+     *
+     * @return Time in line
+     */
+    Histogram.Snapshot getTimeInLine();
+
+    /**
+     * Get the time fast-pass passengers spent in line.
+     *
+     * @return Time in line of the fast-pass tier
+     */
+    Histogram.Snapshot getFastPassTimeInLine();
+
+    /**
+     * Get the time standby passengers spent in line, when there are
+     * fast-pass passengers.
+     *
+     * @return Time in line of the standby tier
+     */
+    Histogram.Snapshot getStandbyTimeInLine();
+
+    /**
+     * Get the time passengers waited for their ride, from joining the line
+     * to the departure of their car (the time in line plus the time on board
+     * of a loading car).
+     *
+     * @return Time to ride
+     */
+    Histogram.Snapshot getTimeToRide();
+
+    /**
+     * Get the duration of the load phases, from load to the departure of the
+     * car.
+     *
+     * @return Load phase duration
+     */
+    Histogram.Snapshot getLoadTime();
+
+    /**
+     * Get the duration of the unload phases, from unload to an empty car.
+     *
+     * @return Unload phase duration
+     */
+    Histogram.Snapshot getUnloadTime();
+
+    /**
+     * Get the duration of the rides.
+     *
+     * @return Ride duration
+     */
+    Histogram.Snapshot getRideTime();
+}
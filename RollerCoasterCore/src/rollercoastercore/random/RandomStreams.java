@@ -0,0 +1,100 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.random;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Source of the random streams of the Roller Coaster. Every car and passenger
+ * takes its own stream, split from one root generator when it is created, and
+ * draws its ride and walk durations from it. With the same root seed and the
+ * same creation order, every entity draws the same durations on every run.
+ *
+ * A thread can create entities from its own root generator instead of the
+ * shared one, so runners creating several Roller Coasters at the same time
+ * stay reproducible without reseeding the shared root.
+ *
+ * A stream must only be used by the thread of its entity, since
+ * SplittableRandom is not thread-safe.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public final class RandomStreams {
+
+    // Root seed
+    private static long seed = new SplittableRandom().nextLong();
+    // Root generator
+    private static SplittableRandom root = new SplittableRandom(seed);
+    // Root generator of the calling thread (null to use the shared one)
+    private static final ThreadLocal<SplittableRandom> LOCAL =
+            new ThreadLocal<>();
+
+    /**
+     * Constructor.
+     */
+    private RandomStreams() {
+    }
+
+    /**
+     * Restart the root generator with a seed.
+     *
+     * @param seed Root seed
+     */
+    public static synchronized void seed(long seed) {
+        RandomStreams.seed = seed;
+        RandomStreams.root = new SplittableRandom(seed);
+    }
+
+    /**
+     * Get the root seed (chosen at random unless set).
+     *
+     * @return Root seed
+     */
+    public static synchronized long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Split a new stream from the root generator of the calling thread, or
+     * from the shared root generator if the thread has none.
+     *
+     * @return A new stream
+     */
+    public static SplittableRandom split() {
+        SplittableRandom local = LOCAL.get();
+        if (local != null) {
+            return local.split();
+        }
+        synchronized (RandomStreams.class) {
+            return root.split();
+        }
+    }
+
+    /**
+     * Create entities with their streams split from a given root generator
+     * instead of the shared one. Only the calling thread is affected.
+     *
+     * @param <T> Type of what is created
+     * @param generator Root generator of the entities
+     * @param factory Creates the entities
+     *
+     * @return What the factory created
+     */
+    public static <T> T withRoot(SplittableRandom generator,
+            Supplier<T> factory) {
+        SplittableRandom previous = LOCAL.get();
+        LOCAL.set(generator);
+        try {
+            return factory.get();
+        } finally {
+            if (previous == null) {
+                LOCAL.remove();
+            } else {
+                LOCAL.set(previous);
+            }
+        }
+    }
+}
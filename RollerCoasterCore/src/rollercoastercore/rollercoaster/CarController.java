@@ -0,0 +1,99 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.rollercoaster;
+
+/**
+ * Operations of a Roller Coaster car, whatever the way it synchronizes. The
+ * passengers board and unboard through it, and the handler drives its
+ * cycle: load, wait for the departure, run, unload and wait for it to be
+ * empty.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public interface CarController {
+
+    /**
+     * Get the car ID.
+     *
+     * @return Car ID
+     */
+    int getId();
+
+    /**
+     * Add passenger in the car.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger boarded and false otherwise
+     */
+    boolean addPassenger(Passenger passenger);
+
+    /**
+     * Remove passenger from the car.
+     *
+     * @param passenger The passenger
+     */
+    void removePassenger(Passenger passenger);
+
+    /**
+     * Get true if the passenger is in the car and false otherwise.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is in the car false otherwise
+     */
+    boolean isInTheCar(Passenger passenger);
+
+    /**
+     * Wait for the car to allow unboarding.
+     */
+    void awaitUnboarding();
+
+    /**
+     * Get a snapshot of the state of the car.
+     *
+     * @return State of the car
+     */
+    CarState getState();
+
+    /**
+     * Allows passengers to board.
+     */
+    void load();
+
+    /**
+     * Wait for the car to depart.
+     */
+    void waitDeparture();
+
+    /**
+     * Run a ride.
+     */
+    void run();
+
+    /**
+     * Allows passengers to unboard.
+     */
+    void unload();
+
+    /**
+     * Wait for the car to be empty.
+     */
+    void waitEmpty();
+
+    /**
+     * Get the time between the last load and its first boarding.
+     *
+     * @return Boarding latency in nanoseconds
+     */
+    long getBoardingLatency();
+
+    /**
+     * Get when the car last allowed boarding.
+     *
+     * @return Time of the last load in nanoseconds (as System.nanoTime)
+     */
+    long getLoadTime();
+}
@@ -0,0 +1,134 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.rollercoaster;
+
+/**
+ * Immutable snapshot of the state of a Roller Coaster car. Every value is
+ * read at the same instant, so decisions made from a snapshot never mix the
+ * states before and after a change.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public final class CarState {
+
+    // The car is in operation
+    private final boolean inOperation;
+    // The car is moving
+    private final boolean moving;
+    // The car is full
+    private final boolean full;
+    // The car is empty
+    private final boolean empty;
+    // The car is ready
+    private final boolean ready;
+    // The car allows boarding
+    private final boolean allowBoarding;
+    // The car allows unboarding
+    private final boolean allowUnboarding;
+
+    /**
+     * Constructor.
+     *
+     * @param inOperation The car is in operation
+     * @param moving The car is moving
+     * @param full The car is full
+     * @param empty The car is empty
+     * @param ready The car is ready
+     * @param allowBoarding The car allows boarding
+     * @param allowUnboarding The car allows unboarding
+     */
+    public CarState(boolean inOperation, boolean moving, boolean full,
+            boolean empty, boolean ready, boolean allowBoarding,
+            boolean allowUnboarding) {
+        this.inOperation = inOperation;
+        this.moving = moving;
+        this.full = full;
+        this.empty = empty;
+        this.ready = ready;
+        this.allowBoarding = allowBoarding;
+        this.allowUnboarding = allowUnboarding;
+    }
+
+    /**
+     * Get true if the car is in operation and false otherwise.
+     *
+     * @return True if the car is in operation and false otherwise
+     */
+    public boolean isInOperation() {
+        return this.inOperation;
+    }
+
+    /**
+     * Get true if the car is moving and false otherwise.
+     *
+     * @return True if the car is moving and false otherwise
+     */
+    public boolean isMoving() {
+        return this.moving;
+    }
+
+    /**
+     * Get true if the car is stopped and false otherwise.
+     *
+     * @return True if the car is stopped and false otherwise
+     */
+    public boolean isStopped() {
+        return !this.moving;
+    }
+
+    /**
+     * Get true if the car is full and false otherwise.
+     *
+     * @return True if the car is full and false otherwise
+     */
+    public boolean isFull() {
+        return this.full;
+    }
+
+    /**
+     * Get true if the car is empty and false otherwise.
+     *
+     * @return True if the car is empty and false otherwise
+     */
+    public boolean isEmpty() {
+        return this.empty;
+    }
+
+    /**
+     * Get true if the car is ready and false otherwise.
+     *
+     * @return True if the car is ready and false otherwise
+     */
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    /**
+     * Get true if the car allows boarding and false otherwise.
+     *
+     * @return True if the car allows boarding and false otherwise
+     */
+    public boolean isAllowBoarding() {
+        return this.allowBoarding;
+    }
+
+    /**
+     * Get true if the car allows unboarding and false otherwise.
+     *
+     * @return True if the car allows unboarding and false otherwise
+     */
+    public boolean isAllowUnboarding() {
+        return this.allowUnboarding;
+    }
+
+    @Override
+    public String toString() {
+        return "CarState{" + "In operation = " + this.inOperation
+                + ", Moving = " + this.moving + ", Full = " + this.full
+                + ", Empty = " + this.empty + ", Ready = " + this.ready
+                + ", Allow boarding = " + this.allowBoarding
+                + ", Allow unboarding = " + this.allowUnboarding + '}';
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.rollercoaster;
+
+/**
+ * Operations of a Roller Coaster line, whatever the way it synchronizes.
+ * Passengers join and leave the line, and wait in it until a car seats them.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public interface LineController {
+
+    /**
+     * Add passenger to queue.
+     *
+     * @param passenger The passenger
+     */
+    void addPassengerToQueue(Passenger passenger);
+
+    /**
+     * Remove passenger from the queue, if it is the next.
+     *
+     * @param passenger The passenger
+     */
+    void removePassengerFromTheQueue(Passenger passenger);
+
+    /**
+     * Get true if the passenger is in line and false otherwise.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is in line false otherwise
+     */
+    boolean isInLine(Passenger passenger);
+
+    /**
+     * Get true if the line is empty and false otherwise.
+     *
+     * @return True if the line is empty and false otherwise
+     */
+    boolean lineIsEmpty();
+
+    /**
+     * Get the next passenger to board in a car.
+     *
+     * @return The next passenger to board in a car
+     */
+    Passenger nextPassenger();
+
+    /**
+     * Get true if any car of the line is in operation and false otherwise.
+     *
+     * @return True if any car of the line is in operation and false otherwise
+     */
+    boolean isInOperation();
+
+    /**
+     * Wait for the turn of the passenger and board the car that is loading.
+     *
+     * @param passenger The passenger
+     *
+     * @return The car the passenger boarded or null if every car closed
+     */
+    CarController awaitBoarding(Passenger passenger);
+}
@@ -0,0 +1,196 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.rollercoaster;
+
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.TimeUnit;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.metrics.Metrics;
+import rollercoastercore.random.RandomStreams;
+import rollercoastercore.journal.JournalEvent;
+
+/**
+ * This class represents the Roller Coaster passenger. It only talks to the
+ * line and the car through their controllers, so every implementation runs
+ * the same passenger.
+ *
+ * @author Breno & Patrícia
+ * @version 26/05/2017
+ */
+public class Passenger implements Runnable {
+
+    // Passenger ID
+    private final int id;
+    // Roller Coaster line
+    private final LineController line;
+    // Random stream of the passenger (walk durations)
+    private final SplittableRandom random;
+    // Roller Coaster car the passenger is on board (null if none)
+    private CarController car;
+    // Walk in the park
+    private boolean walk;
+    // The passenger has a fast pass
+    private boolean fastPass;
+    // When the passenger last joined the line (nanoseconds, 0 if never)
+    private volatile long joinTime;
+
+    /**
+     * Constructor.
+     *
+     * @param id Passenger ID
+     * @param line Roller Coaster line
+     */
+    public Passenger(int id, LineController line) {
+        this.id = id;
+        this.line = line;
+        this.random = RandomStreams.split();
+    }
+
+    /**
+     * Get true if the passenger has a fast pass and false otherwise.
+     *
+     * @return True if the passenger has a fast pass and false otherwise
+     */
+    public boolean isFastPass() {
+        return this.fastPass;
+    }
+
+    /**
+     * Set if the passenger has a fast pass, which boards ahead of the standby
+     * passengers.
+     *
+     * @param fastPass True if the passenger has a fast pass
+     */
+    public void setFastPass(boolean fastPass) {
+        this.fastPass = fastPass;
+    }
+
+    /**
+     * Get when the passenger last joined the line.
+     *
+     * @return When the passenger joined the line (nanoseconds) or 0 if it
+     * never did
+     */
+    public long getJoinTime() {
+        return this.joinTime;
+    }
+
+    /**
+     * Get true if the passenger is on board and false otherwise.
+     *
+     * @return True if the passenger is on board and false otherwise
+     */
+    public boolean isOnBoard() {
+        return this.car != null && this.car.isInTheCar(this);
+    }
+
+    /**
+     * Get true if the passenger will walk in the park and false otherwise.
+     *
+     * @return True if the passenger will walk in the park and false otherwise
+     */
+    public boolean isWalk() {
+        return this.walk;
+    }
+
+    /**
+     * The passenger walks in the park.
+     */
+    public void walk() {
+        this.walk = true;
+    }
+
+    /**
+     * Boarding. Wait for the turn of this passenger and get them in the car
+     * that is loading.
+     *
+     * @return True if the passenger boarded and false if every car closed
+     */
+    public boolean board() {
+        this.car = this.line.awaitBoarding(this);
+        return this.car != null;
+    }
+
+    /**
+     * Unboarding. Wait for the car to allow unboarding and get this passenger
+     * out the car.
+     */
+    public void unboard() {
+        this.car.awaitUnboarding();
+        this.walk();
+        this.car.removePassenger(this);
+        this.car = null;
+    }
+
+    /**
+     * Get true if the passenger is the next to board the car and false
+     * otherwise.
+     *
+     * @return True if the passenger is the next to board the car false
+     * otherwise
+     */
+    public boolean isNext() {
+        return this.line.nextPassenger() == this;
+    }
+
+    /**
+     * Get this passenger out of line.
+     */
+    public void getOutOfLine() {
+        // Check if the passenger is the next
+        if (this.isNext()) {
+            this.line.removePassengerFromTheQueue(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        // Print passenger
+        EventLog.debug(null, this.toString());
+        // Number of rides of the passenger
+        int rides = 0;
+        // While the car is working
+        while (this.line.isInOperation()) {
+            // Get in line
+            long joined = System.nanoTime();
+            this.joinTime = joined;
+            this.line.addPassengerToQueue(this);
+            Transitions.record(JournalEvent.JOIN, 0, this.id, rides + 1);
+            // Wait for the turn of this passenger and board the car
+            if (!this.board()) {
+                break;
+            }
+            rides++;
+            int car = this.car.getId();
+            Transitions.record(JournalEvent.BOARD, car, this.id, rides);
+            Metrics.recordTimeInLine(System.nanoTime() - joined,
+                    this.fastPass);
+            // Wait for the end of the ride and unboard the car
+            this.unboard();
+            Transitions.record(JournalEvent.UNBOARD, car, this.id, rides);
+            // Walk in the park
+            EventLog.debug(this, "is walking.");
+            Transitions.record(JournalEvent.WALK_START, 0, this.id, rides);
+            try {
+                TimeUnit.SECONDS.sleep(this.random.nextInt(5) + 1);
+                Transitions.record(JournalEvent.WALK_END, 0, this.id, rides);
+                EventLog.debug(this, "back to roller coaster.");
+                this.walk = false;
+            } catch (InterruptedException ex) {
+                Logger.getLogger(Passenger.class.getName())
+                        .log(Level.SEVERE, null, ex);
+            }
+        }
+        // Passenger is leaving
+        EventLog.debug(this, "is leaving.");
+        Transitions.record(JournalEvent.LEAVE, 0, this.id, rides);
+    }
+
+    @Override
+    public String toString() {
+        return "Passenger " + id;
+    }
+}
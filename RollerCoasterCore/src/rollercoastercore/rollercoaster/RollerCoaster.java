@@ -0,0 +1,84 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.rollercoaster;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs a day of the Roller Coaster: every passenger on its own thread and
+ * every car driven by its own handler, until every car closes and every
+ * passenger leaves. Any implementation of the controllers runs on it, so
+ * every implementation is measured with the same workload.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public final class RollerCoaster {
+
+    /**
+     * Constructor.
+     */
+    private RollerCoaster() {
+    }
+
+    /**
+     * Run a day.
+     *
+     * @param cars Roller Coaster cars
+     * @param passengers Passengers
+     * @param threads Thread mode of the passengers (platform or virtual)
+     */
+    public static void run(List<? extends CarController> cars,
+            List<Passenger> passengers, String threads) {
+        // Runs passengers
+        ExecutorService executor = passengerExecutor(threads);
+        passengers.forEach(executor::execute);
+        // Roller Coaster handlers
+        List<Thread> handlers = new ArrayList<>();
+        cars.stream().map((car)
+                -> new Thread(new RollerCoasterHandler(car))).forEach((t) -> {
+            handlers.add(t);
+            t.start();
+        });
+        // Wait for every car to close
+        handlers.forEach((t) -> {
+            try {
+                t.join();
+            } catch (InterruptedException ex) {
+                Logger.getLogger(RollerCoaster.class.getName())
+                        .log(Level.SEVERE, null, ex);
+            }
+        });
+        // Wait for every passenger to leave
+        executor.close();
+    }
+
+    /**
+     * Get the executor that runs the passengers. Virtual threads park on
+     * locks and conditions without holding a carrier thread, but a virtual
+     * thread waiting inside a synchronized method pins its carrier (JDK 21 to
+     * 23).
+     *
+     * @param threads Thread mode (platform or virtual)
+     *
+     * @return One thread per passenger executor
+     */
+    private static ExecutorService passengerExecutor(String threads) {
+        switch (threads) {
+            case "platform":
+                return Executors.newThreadPerTaskExecutor(
+                        Executors.defaultThreadFactory());
+            case "virtual":
+                return Executors.newVirtualThreadPerTaskExecutor();
+            default:
+                throw new IllegalArgumentException("Unknown thread mode: "
+                        + threads);
+        }
+    }
+}
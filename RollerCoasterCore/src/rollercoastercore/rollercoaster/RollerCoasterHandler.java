@@ -0,0 +1,75 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.rollercoaster;
+
+import java.util.concurrent.TimeUnit;
+import rollercoastercore.log.EventLog;
+
+/**
+ * Roller Coaster handler. Each car of the fleet is driven by its own handler,
+ * through the car controller, so every implementation runs the same handler.
+ *
+ * @author Breno & Patrícia
+ * @version 27/05/2017
+ */
+public class RollerCoasterHandler implements Runnable {
+
+    // Roller Coaster car
+    private final CarController car;
+
+    /**
+     * Contructor.
+     *
+     * @param car Roller Coaster car.
+     */
+    public RollerCoasterHandler(CarController car) {
+        this.car = car;
+    }
+
+    /**
+     * Run the Roller Coaster handler. Each pass reads one snapshot of the car
+     * state and takes at most one action from it.
+     */
+    @Override
+    public void run() {
+        // Show car information
+        EventLog.info(null, this.car.toString());
+        // Run Roller Coaster simulation
+        while (true) {
+            CarState state = this.car.getState();
+            // Check if the car isn't in operation and if it is empty
+            if (!state.isInOperation() && state.isEmpty()) {
+                // Closes the car
+                EventLog.info(null, "Car " + this.car.getId() + " closed.");
+                break;
+            }
+            // Check whether the car can allow unboarding
+            if (state.isStopped() && !state.isEmpty() && !state.isReady()
+                    && !state.isAllowBoarding()
+                    && !state.isAllowUnboarding()) {
+                // Allow unboarding
+                this.car.unload();
+                // Wait for the car to be empty
+                this.car.waitEmpty();
+            } else if (state.isInOperation() && state.isStopped()
+                    && !state.isReady() && !state.isAllowBoarding()
+                    && !state.isAllowUnboarding()) {
+                // Allow boarding
+                this.car.load();
+                // Wait for the car to depart (full or by the dispatch
+                // policy)
+                this.car.waitDeparture();
+                EventLog.info("Car " + this.car.getId() + ":",
+                        "First boarding " + TimeUnit.NANOSECONDS.toMicros(
+                                this.car.getBoardingLatency())
+                        + " us after load.");
+            } else if (state.isInOperation() && state.isStopped()
+                    && state.isReady()
+                    && !state.isAllowUnboarding()) {
+                // Run the ride
+                this.car.run();
+            }
+        }
+    }
+}
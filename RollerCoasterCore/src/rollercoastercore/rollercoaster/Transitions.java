@@ -0,0 +1,40 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.rollercoaster;
+
+import rollercoastercore.journal.Journal;
+import rollercoastercore.journal.JournalEvent;
+import rollercoastercore.stream.TransitionStream;
+
+/**
+ * Where the cars and the passengers report their state transitions. Each
+ * transition is recorded in the journal, if one is open, and published on
+ * the transition stream, if it has subscribers. The journal and the stream
+ * know nothing of each other, so either can be used on its own.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+public final class Transitions {
+
+    /**
+     * Constructor.
+     */
+    private Transitions() {
+    }
+
+    /**
+     * Report a state transition to the journal and the transition stream.
+     *
+     * @param event What happened
+     * @param car Car ID (0 if none)
+     * @param passenger Passenger ID (0 if none)
+     * @param ride Ride number of the car or of the passenger
+     */
+    public static void record(JournalEvent event, int car, int passenger,
+            int ride) {
+        Journal.record(event, car, passenger, ride);
+        TransitionStream.publish(event, car, passenger, ride);
+    }
+}
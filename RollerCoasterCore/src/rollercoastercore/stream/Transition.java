@@ -0,0 +1,97 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.stream;
+
+import rollercoastercore.journal.JournalEvent;
+
+/**
+ * Immutable state transition of a car or a passenger, as published on the
+ * transition stream.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+public final class Transition {
+
+    // When it happened (nanoseconds, System.nanoTime)
+    private final long time;
+    // What happened
+    private final JournalEvent event;
+    // Car ID (0 if none)
+    private final int car;
+    // Passenger ID (0 if none)
+    private final int passenger;
+    // Ride number of the car or of the passenger
+    private final int ride;
+
+    /**
+     * Constructor.
+     *
+     * @param time When it happened (nanoseconds, System.nanoTime)
+     * @param event What happened
+     * @param car Car ID (0 if none)
+     * @param passenger Passenger ID (0 if none)
+     * @param ride Ride number of the car or of the passenger
+     */
+    public Transition(long time, JournalEvent event, int car, int passenger,
+            int ride) {
+        this.time = time;
+        this.event = event;
+        this.car = car;
+        this.passenger = passenger;
+        this.ride = ride;
+    }
+
+    /**
+     * Get when the transition happened.
+     *
+     * @return When it happened (nanoseconds, System.nanoTime)
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    /**
+     * Get what happened.
+     *
+     * @return What happened
+     */
+    public JournalEvent getEvent() {
+        return this.event;
+    }
+
+    /**
+     * Get the car ID.
+     *
+     * @return Car ID (0 if none)
+     */
+    public int getCar() {
+        return this.car;
+    }
+
+    /**
+     * Get the passenger ID.
+     *
+     * @return Passenger ID (0 if none)
+     */
+    public int getPassenger() {
+        return this.passenger;
+    }
+
+    /**
+     * Get the ride number.
+     *
+     * @return Ride number of the car or of the passenger
+     */
+    public int getRide() {
+        return this.ride;
+    }
+
+    @Override
+    public String toString() {
+        return "Transition{" + this.event + ", Car = " + this.car
+                + ", Passenger = " + this.passenger
+                + ", Ride = " + this.ride + '}';
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.stream;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.CountDownLatch;
+import rollercoastercore.journal.JournalEvent;
+
+/**
+ * Subscriber of the transition stream that counts the transitions of each
+ * event. It requests a batch at a time and asks for the next batch once it
+ * has counted the previous one, so it never holds more than a batch.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+public class TransitionCounter implements Flow.Subscriber<Transition> {
+
+    // Transitions requested at once
+    private static final int BATCH = 64;
+
+    // Number of transitions of each event
+    private final long[] counts;
+    // Completed when the stream ends
+    private final CountDownLatch done;
+    // Subscription to the stream
+    private Flow.Subscription subscription;
+    // Transitions left of the last request
+    private int left;
+
+    /**
+     * Constructor.
+     */
+    public TransitionCounter() {
+        this.counts = new long[JournalEvent.values().length];
+        this.done = new CountDownLatch(1);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        this.left = BATCH;
+        subscription.request(BATCH);
+    }
+
+    @Override
+    public void onNext(Transition transition) {
+        this.counts[transition.getEvent().ordinal()]++;
+        // Ask for the next batch
+        if (--this.left == 0) {
+            this.left = BATCH;
+            this.subscription.request(BATCH);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Logger.getLogger(TransitionCounter.class.getName())
+                .log(Level.SEVERE, null, throwable);
+        this.done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+        this.done.countDown();
+    }
+
+    /**
+     * Wait for the stream to end.
+     *
+     * @param timeout Longest wait
+     * @param unit Time unit of the wait
+     *
+     * @return True if the stream ended and false if the wait timed out
+     */
+    public boolean await(long timeout, TimeUnit unit) {
+        try {
+            return this.done.await(timeout, unit);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Get the number of transitions of an event. Only final once the stream
+     * ended.
+     *
+     * @param event The event
+     *
+     * @return Number of transitions of the event
+     */
+    public long getCount(JournalEvent event) {
+        return this.counts[event.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("Transitions{");
+        for (JournalEvent event : JournalEvent.values()) {
+            if (event.ordinal() > 0) {
+                text.append(", ");
+            }
+            text.append(event).append(" = ")
+                    .append(this.counts[event.ordinal()]);
+        }
+        return text.append('}').toString();
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * GNU License.
+ */
+package rollercoastercore.stream;
+
+import java.util.Queue;
+import java.util.function.BiPredicate;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import rollercoastercore.journal.JournalEvent;
+
+/**
+ * Stream of every state transition of the cars and passengers, published as
+ * a Flow publisher. Dashboards, journals and metrics subscribe to it instead
+ * of adding work to the cars.
+ *
+ * Publishing a transition only puts it in a bounded lock-free hand-off buffer
+ * and never waits or takes a lock, so a car publishing from inside its
+ * critical section neither stalls nor contends with the other cars. A
+ * background dispatcher hands the transitions to a submission publisher,
+ * which keeps a buffer per subscriber and delivers to it only what it
+ * requested. When a subscriber falls behind and its buffer is full, the
+ * transitions it misses are dropped and counted; the other subscribers are
+ * not affected. Every transition is either delivered or counted, including
+ * those published while the stream closes.
+ *
+ * Nothing is published until the first subscription, so the stream costs a
+ * volatile read per transition when nobody listens.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+public final class TransitionStream implements Flow.Publisher<Transition> {
+
+    // Size of the hand-off buffer
+    public static final int CAPACITY = 8192;
+    // Size of the buffer of each subscriber
+    public static final int BUFFER = 1024;
+
+    // Current stream
+    private static volatile TransitionStream stream = new TransitionStream();
+
+    // Transitions not handed to the subscribers yet
+    private final Queue<Transition> buffer;
+    // Transitions reserved in the hand-off buffer (bounds the buffer)
+    private final AtomicInteger pending;
+    // Runs the subscribers (shut down once every subscriber completed)
+    private final ExecutorService executor;
+    // Keeps the buffer and the demand of each subscriber
+    private final SubmissionPublisher<Transition> publisher;
+    // Number of transitions dropped because the hand-off buffer was full
+    private final LongAdder dropped;
+    // Number of transitions missed by subscribers that fell behind
+    private final LongAdder lagged;
+    // Subscribers not completed yet
+    private final AtomicInteger open;
+    // Counts a transition missed by a subscriber (never retried)
+    private final BiPredicate<Flow.Subscriber<? super Transition>, Transition>
+            onDrop;
+    // Transitions are published (from the first subscription on)
+    private volatile boolean active;
+    // The stream was closed
+    private volatile boolean closed;
+    // Hands the transitions to the publisher (null before the first
+    // subscription)
+    private volatile Thread dispatcher;
+
+    /**
+     * Constructor.
+     */
+    private TransitionStream() {
+        this.buffer = new ConcurrentLinkedQueue<>();
+        this.pending = new AtomicInteger();
+        // Subscribers run on virtual threads, so a slow one holds no
+        // platform thread
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.publisher = new SubmissionPublisher<>(this.executor, BUFFER);
+        this.dropped = new LongAdder();
+        this.lagged = new LongAdder();
+        this.open = new AtomicInteger();
+        this.onDrop = (subscriber, transition) -> {
+            this.lagged.increment();
+            return false;
+        };
+    }
+
+    /**
+     * Get the current stream.
+     *
+     * @return The current stream
+     */
+    public static TransitionStream get() {
+        return stream;
+    }
+
+    /**
+     * Publish a state transition. Never waits: the transition is dropped and
+     * counted if the hand-off buffer is full.
+     *
+     * @param event What happened
+     * @param car Car ID (0 if none)
+     * @param passenger Passenger ID (0 if none)
+     * @param ride Ride number of the car or of the passenger
+     */
+    public static void publish(JournalEvent event, int car, int passenger,
+            int ride) {
+        TransitionStream current = stream;
+        if (current.active) {
+            current.offer(new Transition(System.nanoTime(), event, car,
+                    passenger, ride));
+        }
+    }
+
+    /**
+     * Deliver the pending transitions, complete every subscriber and start a
+     * new stream. Transitions published after closing go to the new stream.
+     */
+    public static void close() {
+        TransitionStream current;
+        synchronized (TransitionStream.class) {
+            current = stream;
+            stream = new TransitionStream();
+        }
+        current.shutdown();
+    }
+
+    /**
+     * Subscribe to the stream. The subscriber is completed at once if the
+     * stream is closed.
+     *
+     * @param subscriber The subscriber
+     */
+    @Override
+    public synchronized void subscribe(
+            Flow.Subscriber<? super Transition> subscriber) {
+        if (this.closed) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onComplete();
+            return;
+        }
+        this.open.incrementAndGet();
+        this.publisher.subscribe(new Tracked(subscriber));
+        if (this.dispatcher == null) {
+            this.dispatcher = new Thread(this::dispatch, "transition-stream");
+            this.dispatcher.setDaemon(true);
+            this.dispatcher.start();
+            this.active = true;
+        }
+    }
+
+    /**
+     * Get the number of transitions dropped because the hand-off buffer was
+     * full.
+     *
+     * @return Number of dropped transitions
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Get the number of transitions missed by subscribers that fell behind,
+     * counted once per subscriber.
+     *
+     * @return Number of missed transitions
+     */
+    public long getLagged() {
+        return this.lagged.sum();
+    }
+
+    /**
+     * Put a transition in the hand-off buffer. The slot is reserved before
+     * checking whether the stream closed, so the dispatcher either delivers
+     * the transition or it is counted as dropped.
+     *
+     * @param transition The transition
+     */
+    private void offer(Transition transition) {
+        int reserved = this.pending.incrementAndGet();
+        if (reserved > CAPACITY || this.closed) {
+            this.pending.decrementAndGet();
+            this.dropped.increment();
+            return;
+        }
+        this.buffer.offer(transition);
+        // Wake the dispatcher if the buffer was empty
+        if (reserved == 1) {
+            LockSupport.unpark(this.dispatcher);
+        }
+    }
+
+    /**
+     * Stop publishing, deliver the pending transitions and complete every
+     * subscriber.
+     */
+    private void shutdown() {
+        Thread current;
+        synchronized (this) {
+            this.closed = true;
+            this.active = false;
+            current = this.dispatcher;
+        }
+        if (current == null) {
+            this.publisher.close();
+            this.executor.shutdown();
+            return;
+        }
+        LockSupport.unpark(current);
+        try {
+            current.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Background dispatcher. Offers each transition to the subscribers
+     * without waiting for them and parks while the buffer is empty. Once the
+     * stream is closed and every reserved transition was handed over, it
+     * completes the subscribers.
+     */
+    private void dispatch() {
+        while (true) {
+            Transition transition = this.buffer.poll();
+            if (transition != null) {
+                this.pending.decrementAndGet();
+                this.publisher.offer(transition, this.onDrop);
+                continue;
+            }
+            // Read before the reservations: a producer reserving later sees
+            // the stream closed and counts its transition as dropped
+            boolean end = this.closed;
+            if (this.pending.get() > 0) {
+                // A producer reserved a slot and is about to fill it
+                Thread.yield();
+            } else if (end) {
+                break;
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        this.publisher.close();
+        if (this.open.get() == 0) {
+            this.executor.shutdown();
+        }
+    }
+
+    /**
+     * Subscriber wrapper that shuts the executor down once every subscriber
+     * of a closed stream completed.
+     */
+    private final class Tracked implements Flow.Subscriber<Transition> {
+
+        // Wrapped subscriber
+        private final Flow.Subscriber<? super Transition> subscriber;
+
+        /**
+         * Constructor.
+         *
+         * @param subscriber Wrapped subscriber
+         */
+        Tracked(Flow.Subscriber<? super Transition> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscriber.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(Transition transition) {
+            this.subscriber.onNext(transition);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            try {
+                this.subscriber.onError(throwable);
+            } finally {
+                this.completed();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                this.subscriber.onComplete();
+            } finally {
+                this.completed();
+            }
+        }
+
+        /**
+         * Count the subscriber as completed.
+         */
+        private void completed() {
+            TransitionStream stream = TransitionStream.this;
+            if (stream.open.decrementAndGet() == 0 && stream.closed) {
+                stream.executor.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TransitionStream{" + "Subscribers = "
+                + this.publisher.getNumberOfSubscribers()
+                + ", Dropped = " + this.dropped.sum()
+                + ", Lagged = " + this.lagged.sum() + '}';
+    }
+}
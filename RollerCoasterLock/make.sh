@@ -1,6 +1,7 @@
 #!/bin/bash
 cd src
-# Compile
-javac rollercoasterlock/*.java rollercoasterlock/rollercoaster/*.java
+rm -rf ../build
+# Compile (with the shared core)
+javac -d ../build -sourcepath .:../../RollerCoasterCore/src rollercoasterlock/*.java rollercoasterlock/rollercoaster/*.java ../../RollerCoasterCore/src/rollercoastercore/journal/*.java
 # Generate jar
-jar cfm ../RollerCoasterLock.jar ../manifest.mf rollercoasterlock/*.class rollercoasterlock/rollercoaster/*.class
+jar cfm ../RollerCoasterLock.jar ../manifest.mf -C ../build .
@@ -4,10 +4,33 @@
 package rollercoasterlock;
 
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.ArrayList;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import rollercoasterlock.rollercoaster.LineCar;
+import rollercoasterlock.rollercoaster.PhaserCar;
+import rollercoasterlock.rollercoaster.StampedCar;
 import rollercoasterlock.rollercoaster.RollerCoasterCar;
-import rollercoasterlock.rollercoaster.RollerCoasterHandler;
+import rollercoasterlock.rollercoaster.RollerCoasterLine;
+import rollercoasterlock.rollercoaster.PlatformLine;
+import rollercoasterlock.rollercoaster.AbstractLine;
+import rollercoasterlock.profiler.LockProfiler;
+import rollercoastercore.rollercoaster.Passenger;
+import rollercoastercore.rollercoaster.RollerCoaster;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.metrics.Metrics;
+import rollercoastercore.journal.Journal;
+import rollercoastercore.stream.TransitionStream;
+import rollercoastercore.stream.TransitionCounter;
+import rollercoastercore.random.RandomStreams;
+import rollercoastercore.dispatch.FullCarPolicy;
+import rollercoastercore.dispatch.AdaptivePolicy;
+import rollercoastercore.dispatch.DeadlinePolicy;
+import rollercoastercore.dispatch.DispatchPolicy;
 
 /**
  * This is the main class of Roller Coaster.
@@ -17,25 +40,239 @@ import rollercoasterlock.rollercoaster.RollerCoasterHandler;
  */
 public class Main {
 
+    // Default maximum Number of Rides of each car (P)
+    private static final int MAX_NUMBER_OF_RIDES = 4;
+    // Default capacity of each car (C)
+    private static final int CAPACITY = 4;
+
     /**
-     * @param args the command line arguments
+     * @param args the command line arguments (--seed=s makes the ride and walk
+     * durations and the crowd size reproducible, --passengers=n, --capacity=C
+     * and --rides=P set the number of passengers, the capacity of each car and
+     * its maximum number of rides, --cars=N runs a fleet of N cars,
+     * --threads=virtual runs passengers on virtual threads, --boarding=batch
+     * seats a whole carload at once, --car-lock=stamped guards the cars with a
+     * stamped lock read optimistically, --car-lock=phaser runs each ride as
+     * the phases of a phaser, --platforms=k splits the line into k loading
+     * platforms, --fast-pass=f gives a fast pass to a fraction f of the
+     * passengers (single platform only), --fast-pass-share=s limits them to a
+     * share s of each carload, --standby-max-wait=ms bounds the wait of the
+     * standby passengers, --dispatch=full|deadline|adaptive lets a car with
+     * --min-load=m passengers depart after --max-wait=ms instead of waiting
+     * to be full,
+     * --log=info|debug|off sets the log level, --log-overflow=block|drop and
+     * --log-buffer=size set what happens when the log buffer is full,
+     * --journal=file records every state transition in a binary journal of
+     * --journal-size=MB, --transitions counts the transitions published on the
+     * transition stream, --lock-profile prints a lock contention report at the
+     * end). The metrics are exposed through JMX while the Roller Coaster runs
+     * and printed at the end.
      */
     public static void main(String[] args) {
-        // Roller Coaster car
-        RollerCoasterCar car = RollerCoasterCar.getInstance();
+        // Root seed of the random streams (chosen at random if missing)
+        String seed = option(args, "seed", null);
+        if (seed != null) {
+            RandomStreams.seed(Long.parseLong(seed));
+        }
+        // Random stream of the crowd
+        SplittableRandom random = RandomStreams.split();
+        // Number of cars
+        int numberOfCars = Integer.parseInt(option(args, "cars", "1"));
+        // Maximum Number of Rides of each car
+        int maxNumberOfRides = Integer.parseInt(option(args, "rides",
+                String.valueOf(MAX_NUMBER_OF_RIDES)));
+        // Capacity of each car
+        int capacity = Integer.parseInt(option(args, "capacity",
+                String.valueOf(CAPACITY)));
+        // Number of passengers (the crowd grows with the fleet)
+        int numberOfPassengers = Integer.parseInt(option(args, "passengers",
+                String.valueOf(numberOfCars * (capacity + 11
+                        + random.nextInt(10)))));
+        // Check if there are more passengers than seats in a car
+        if (numberOfPassengers <= capacity) {
+            System.err.println("The number of passengers (" + numberOfPassengers
+                    + ") must be greater than the capacity of the car ("
+                    + capacity + ").");
+            System.exit(1);
+        }
+        // Event log
+        EventLog.configure(
+                EventLog.Level.valueOf(option(args, "log", "debug")
+                        .toUpperCase()),
+                EventLog.Overflow.valueOf(option(args, "log-overflow", "block")
+                        .toUpperCase()),
+                Integer.parseInt(option(args, "log-buffer",
+                        String.valueOf(EventLog.CAPACITY))));
+        EventLog.info(null, "Seed = " + RandomStreams.getSeed());
+        // Metrics (JMX)
+        Metrics.register();
+        // Binary journal of every state transition
+        String journal = option(args, "journal", null);
+        if (journal != null) {
+            try {
+                Journal.open(Paths.get(journal), Long.parseLong(
+                        option(args, "journal-size", String.valueOf(
+                                Journal.SIZE >> 20))) << 20);
+            } catch (IOException ex) {
+                Logger.getLogger(Main.class.getName())
+                        .log(Level.SEVERE, null, ex);
+            }
+        }
+        // Stream of every state transition, counted by a subscriber
+        TransitionCounter transitions = null;
+        if (option(args, "transitions", null) != null) {
+            transitions = new TransitionCounter();
+            TransitionStream.get().subscribe(transitions);
+        }
+        // Lock contention profiler (before creating the locks)
+        if (option(args, "lock-profile", null) != null) {
+            LockProfiler.enable();
+        }
+        // Boarding mode (single or batch)
+        String boarding = option(args, "boarding", "single");
+        if (!boarding.equals("single") && !boarding.equals("batch")) {
+            throw new IllegalArgumentException("Unknown boarding mode: "
+                    + boarding);
+        }
+        // Car lock (reentrant, stamped or phaser)
+        String carLock = option(args, "car-lock", "reentrant");
+        // Number of loading platforms
+        int platforms = Integer.parseInt(option(args, "platforms", "1"));
+        // Fast-pass tier (fraction of the passengers with a fast pass)
+        double fastPass = Double.parseDouble(option(args, "fast-pass", "0"));
+        // Roller Coaster line
+        AbstractLine line;
+        if (platforms > 1) {
+            // The platforms have a single queue each, with no tiers
+            if (fastPass > 0) {
+                throw new IllegalArgumentException(
+                        "The fast pass needs a single platform");
+            }
+            line = new PlatformLine(platforms);
+        } else {
+            RollerCoasterLine single = new RollerCoasterLine();
+            if (fastPass > 0) {
+                single.setFastPassShare(Double.parseDouble(
+                        option(args, "fast-pass-share", "0.5")));
+                single.setStandbyMaxWait(Long.parseLong(
+                        option(args, "standby-max-wait", "20000")),
+                        TimeUnit.MILLISECONDS);
+            }
+            line = single;
+        }
+        // Dispatch policy (when the cars depart)
+        line.setDispatchPolicy(dispatchPolicy(option(args, "dispatch", "full"),
+                Integer.parseInt(option(args, "min-load", "1")),
+                Long.parseLong(option(args, "max-wait", "2000"))));
+        EventLog.info(null, line.getDispatchPolicy().toString());
+        // Roller Coaster cars
+        List<LineCar> cars = new ArrayList<>();
+        for (int i = 0; i < numberOfCars; i++) {
+            LineCar car = car(carLock, i + 1, line, maxNumberOfRides,
+                    capacity);
+            car.setBatchBoarding(boarding.equals("batch"));
+            line.addCar(car);
+            cars.add(car);
+        }
         // Passenger list
         List<Passenger> passengers = new ArrayList<>();
         // Creates the passengers
-        for (int i = 0; i < ((new Random()).nextInt(10) + 15); i++) {
-            passengers.add(new Passenger(i + 1, car));
-        }
-        // Runs passengers
-        passengers.stream().map((passenger)
-                -> new Thread(passenger)).forEach((t) -> {
-            t.start();
-        });
-        // Roller Coaster handler
-        RollerCoasterHandler handler = new RollerCoasterHandler(car);
-        handler.run();
+        for (int i = 0; i < numberOfPassengers; i++) {
+            Passenger passenger = new Passenger(i + 1, line);
+            passenger.setFastPass(random.nextDouble() < fastPass);
+            passengers.add(passenger);
+        }
+        // Runs the day
+        RollerCoaster.run(cars, passengers,
+                option(args, "threads", "platform"));
+        EventLog.info(null, line.getDispatchPolicy().toString());
+        EventLog.info(null, Metrics.summary());
+        if (LockProfiler.isEnabled()) {
+            EventLog.info(null, LockProfiler.report());
+        }
+        if (transitions != null) {
+            TransitionStream stream = TransitionStream.get();
+            TransitionStream.close();
+            transitions.await(10, TimeUnit.SECONDS);
+            EventLog.info(null, transitions.toString());
+            EventLog.info(null, stream.toString());
+        }
+        Journal.close();
+        EventLog.close();
+    }
+
+    /**
+     * Create a car.
+     *
+     * @param carLock How the car synchronizes (reentrant, stamped or phaser)
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     *
+     * @return The car
+     */
+    private static LineCar car(String carLock, int id, AbstractLine line,
+            int maxNumberOfRides, int capacity) {
+        switch (carLock) {
+            case "reentrant":
+                return new RollerCoasterCar(id, line, maxNumberOfRides,
+                        capacity);
+            case "stamped":
+                return new StampedCar(id, line, maxNumberOfRides, capacity);
+            case "phaser":
+                return new PhaserCar(id, line, maxNumberOfRides, capacity);
+            default:
+                throw new IllegalArgumentException("Unknown car lock: "
+                        + carLock);
+        }
+    }
+
+    /**
+     * Get the dispatch policy of the cars.
+     *
+     * @param dispatch Policy name (full, deadline or adaptive)
+     * @param minLoad Passengers on board before a car may depart early
+     * @param maxWait Longest wait after the first boarding (milliseconds)
+     *
+     * @return Dispatch policy
+     */
+    private static DispatchPolicy dispatchPolicy(String dispatch, int minLoad,
+            long maxWait) {
+        switch (dispatch) {
+            case "full":
+                return new FullCarPolicy();
+            case "deadline":
+                return new DeadlinePolicy(minLoad, maxWait,
+                        TimeUnit.MILLISECONDS);
+            case "adaptive":
+                return new AdaptivePolicy(minLoad, maxWait,
+                        TimeUnit.MILLISECONDS);
+            default:
+                throw new IllegalArgumentException("Unknown dispatch policy: "
+                        + dispatch);
+        }
+    }
+
+    /**
+     * Get the value of a command line option written as --name=value. An
+     * option written as --name has an empty value.
+     *
+     * @param args the command line arguments
+     * @param name Option name
+     * @param value Default value
+     *
+     * @return Option value or the default value if the option is missing
+     */
+    private static String option(String[] args, String name, String value) {
+        for (String arg : args) {
+            if (arg.equals("--" + name)) {
+                return "";
+            }
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return value;
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.profiler;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention counters of the acquisitions of a lock from one call site.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+class CallSite {
+
+    // Lock name
+    private final String lock;
+    // Method that acquired the lock (Class.method)
+    private final String name;
+    // Number of acquisitions
+    private final LongAdder acquisitions;
+    // Total and maximum time waiting for the lock (nanoseconds)
+    private final LongAdder waitTime;
+    private final AtomicLong maxWaitTime;
+    // Total time holding the lock (nanoseconds)
+    private final LongAdder holdTime;
+    // Total and maximum number of threads queued ahead when acquiring
+    private final LongAdder queueLength;
+    private final AtomicLong maxQueueLength;
+
+    /**
+     * Constructor.
+     *
+     * @param lock Lock name
+     * @param name Method that acquired the lock
+     */
+    CallSite(String lock, String name) {
+        this.lock = lock;
+        this.name = name;
+        this.acquisitions = new LongAdder();
+        this.waitTime = new LongAdder();
+        this.maxWaitTime = new AtomicLong();
+        this.holdTime = new LongAdder();
+        this.queueLength = new LongAdder();
+        this.maxQueueLength = new AtomicLong();
+    }
+
+    /**
+     * Record an acquisition.
+     *
+     * @param wait Time waiting for the lock (nanoseconds)
+     * @param queued Number of threads queued ahead
+     */
+    void acquired(long wait, int queued) {
+        this.acquisitions.increment();
+        this.waitTime.add(wait);
+        this.maxWaitTime.accumulateAndGet(wait, Math::max);
+        this.queueLength.add(queued);
+        this.maxQueueLength.accumulateAndGet(queued, Math::max);
+    }
+
+    /**
+     * Record time holding the lock.
+     *
+     * @param hold Time holding the lock (nanoseconds)
+     */
+    void held(long hold) {
+        this.holdTime.add(hold);
+    }
+
+    /**
+     * Get the total time waiting for the lock.
+     *
+     * @return Total wait time (nanoseconds)
+     */
+    long getWaitTime() {
+        return this.waitTime.sum();
+    }
+
+    /**
+     * Get the lock name.
+     *
+     * @return Lock name
+     */
+    String getLock() {
+        return this.lock;
+    }
+
+    /**
+     * Get a report line of the call site.
+     *
+     * @param lockWidth Width of the lock column
+     *
+     * @return Report line
+     */
+    String report(int lockWidth) {
+        long count = this.acquisitions.sum();
+        return String.format("%-" + lockWidth
+                + "s %-44s %12d %12.3f %10.3f %12.3f %10.2f %6d",
+                this.lock, this.name, count, this.waitTime.sum() / 1e6,
+                this.maxWaitTime.get() / 1e6, this.holdTime.sum() / 1e6,
+                count == 0 ? 0 : this.queueLength.sum() / (double) count,
+                this.maxQueueLength.get());
+    }
+}
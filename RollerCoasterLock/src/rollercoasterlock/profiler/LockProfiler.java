@@ -0,0 +1,94 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.profiler;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Opt-in lock contention profiler. While disabled, new locks are plain
+ * reentrant locks, so profiling costs nothing; once enabled, new locks record
+ * the acquisitions, wait time, hold time and queue length of each call site.
+ * Enable it before creating the locks to profile.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public final class LockProfiler {
+
+    // Profiling is enabled
+    private static volatile boolean enabled;
+    // Profiled locks
+    private static final Queue<ProfiledLock> LOCKS
+            = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructor.
+     */
+    private LockProfiler() {
+    }
+
+    /**
+     * Profile the locks created from now on.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Get true if profiling is enabled and false otherwise.
+     *
+     * @return True if profiling is enabled and false otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Create a reentrant lock, profiled if profiling is enabled.
+     *
+     * @param name Lock name (shown in the report)
+     *
+     * @return The lock
+     */
+    public static Lock newLock(String name) {
+        if (!enabled) {
+            return new ReentrantLock();
+        }
+        ProfiledLock lock = new ProfiledLock(name);
+        LOCKS.add(lock);
+        return lock;
+    }
+
+    /**
+     * Get the contention report: one line per lock and call site, ranked by
+     * total wait time.
+     *
+     * @return Contention report
+     */
+    public static String report() {
+        List<CallSite> sites = new ArrayList<>();
+        LOCKS.forEach((lock) -> sites.addAll(lock.getSites()));
+        sites.sort(Comparator.comparingLong(CallSite::getWaitTime)
+                .reversed());
+        // The lock column fits the longest lock name
+        int lockWidth = sites.stream()
+                .mapToInt((site) -> site.getLock().length())
+                .reduce("Lock".length(), Math::max);
+        StringBuilder report = new StringBuilder("Lock contention:")
+                .append(System.lineSeparator())
+                .append(String.format("%-" + lockWidth
+                        + "s %-44s %12s %12s %10s %12s %10s %6s",
+                        "Lock", "Call site", "Acquired", "Wait (ms)",
+                        "Max (ms)", "Hold (ms)", "Queue", "Max"));
+        sites.forEach((site) -> report.append(System.lineSeparator())
+                .append(site.report(lockWidth)));
+        return report.toString();
+    }
+}
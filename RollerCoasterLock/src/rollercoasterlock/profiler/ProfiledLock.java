@@ -0,0 +1,256 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.profiler;
+
+import java.util.Map;
+import java.util.Date;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reentrant lock that records, per call site, how often it is acquired, how
+ * long threads wait for it and hold it, and how many threads are queued ahead
+ * of each acquisition. Only outermost acquisitions are recorded; the time
+ * spent awaiting a condition is not counted as holding the lock.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+class ProfiledLock extends ReentrantLock {
+
+    // Serialization version
+    private static final long serialVersionUID = 1L;
+    // Finds the method that called the lock
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    // Lock name
+    private final String name;
+    // Call sites of the lock (by method)
+    private final transient Map<String, CallSite> sites;
+
+    // Call site of the current outermost acquisition (owner only)
+    private transient CallSite holder;
+    // When the owner started holding the lock (nanoseconds, owner only)
+    private long holdStart;
+
+    /**
+     * Constructor.
+     *
+     * @param name Lock name
+     */
+    ProfiledLock(String name) {
+        this.name = name;
+        this.sites = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the call sites of the lock.
+     *
+     * @return Call sites of the lock
+     */
+    Collection<CallSite> getSites() {
+        return this.sites.values();
+    }
+
+    /**
+     * Get the call site of the method that is acquiring the lock.
+     *
+     * @return Call site
+     */
+    private CallSite site() {
+        String method = WALKER.walk((frames) -> frames
+                .filter((f) -> !f.getClassName()
+                        .startsWith(ProfiledLock.class.getName()))
+                .findFirst()
+                .map((f) -> f.getClassName()
+                        .substring(f.getClassName().lastIndexOf('.') + 1)
+                        + "." + f.getMethodName())
+                .orElse("unknown"));
+        return this.sites.computeIfAbsent(method,
+                (m) -> new CallSite(this.name, m));
+    }
+
+    /**
+     * Record an outermost acquisition and start counting the hold time.
+     *
+     * @param site Call site
+     * @param start When the thread started waiting (nanoseconds)
+     * @param queued Number of threads queued ahead
+     */
+    private void acquired(CallSite site, long start, int queued) {
+        long now = System.nanoTime();
+        site.acquired(now - start, queued);
+        this.holder = site;
+        this.holdStart = now;
+    }
+
+    /**
+     * Stop counting the hold time (the lock is released or a condition is
+     * awaited).
+     */
+    private void pause() {
+        if (this.isHeldByCurrentThread()) {
+            this.holder.held(System.nanoTime() - this.holdStart);
+        }
+    }
+
+    /**
+     * Start counting the hold time again (a condition was signalled).
+     */
+    private void resume() {
+        this.holdStart = System.nanoTime();
+    }
+
+    @Override
+    public void lock() {
+        if (this.isHeldByCurrentThread()) {
+            super.lock();
+            return;
+        }
+        CallSite site = this.site();
+        int queued = this.getQueueLength();
+        long start = System.nanoTime();
+        super.lock();
+        this.acquired(site, start, queued);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (this.isHeldByCurrentThread()) {
+            super.lockInterruptibly();
+            return;
+        }
+        CallSite site = this.site();
+        int queued = this.getQueueLength();
+        long start = System.nanoTime();
+        super.lockInterruptibly();
+        this.acquired(site, start, queued);
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (this.isHeldByCurrentThread()) {
+            return super.tryLock();
+        }
+        CallSite site = this.site();
+        long start = System.nanoTime();
+        if (!super.tryLock()) {
+            return false;
+        }
+        this.acquired(site, start, 0);
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        if (this.isHeldByCurrentThread()) {
+            return super.tryLock(timeout, unit);
+        }
+        CallSite site = this.site();
+        int queued = this.getQueueLength();
+        long start = System.nanoTime();
+        if (!super.tryLock(timeout, unit)) {
+            return false;
+        }
+        this.acquired(site, start, queued);
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        if (this.getHoldCount() == 1) {
+            this.pause();
+        }
+        super.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new ProfiledCondition(super.newCondition());
+    }
+
+    /**
+     * Condition of a profiled lock. Awaiting releases the lock, so the hold
+     * time stops while the owner waits.
+     */
+    private class ProfiledCondition implements Condition {
+
+        // Condition of the lock
+        private final Condition condition;
+
+        /**
+         * Constructor.
+         *
+         * @param condition Condition of the lock
+         */
+        ProfiledCondition(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            pause();
+            try {
+                this.condition.await();
+            } finally {
+                resume();
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            pause();
+            try {
+                this.condition.awaitUninterruptibly();
+            } finally {
+                resume();
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            pause();
+            try {
+                return this.condition.awaitNanos(nanosTimeout);
+            } finally {
+                resume();
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit)
+                throws InterruptedException {
+            pause();
+            try {
+                return this.condition.await(time, unit);
+            } finally {
+                resume();
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            pause();
+            try {
+                return this.condition.awaitUntil(deadline);
+            } finally {
+                resume();
+            }
+        }
+
+        @Override
+        public void signal() {
+            this.condition.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            this.condition.signalAll();
+        }
+    }
+}
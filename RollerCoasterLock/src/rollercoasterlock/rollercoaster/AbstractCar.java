@@ -0,0 +1,223 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.rollercoaster;
+
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.TimeUnit;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.metrics.Metrics;
+import rollercoastercore.random.RandomStreams;
+import rollercoastercore.rollercoaster.Transitions;
+import rollercoastercore.journal.JournalEvent;
+import rollercoastercore.rollercoaster.Passenger;
+
+/**
+ * Common part of the cars of a line: what a car is (ID, line, capacity,
+ * number of rides) and how it reports its operations to the event log, the
+ * metrics and the journal. Subclasses only decide how the state of the car
+ * is guarded; the reports are made from inside their critical sections.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+abstract class AbstractCar implements LineCar {
+
+    // Car ID
+    protected final int id;
+    // Car name (source of its events)
+    protected final String name;
+    // Line that serves the car
+    protected final AbstractLine line;
+    // Maximum Number of Rides
+    protected final int maxNumberOfRides;
+    // Capacity
+    protected final int capacity;
+    // Unit of the ride time (a ride takes 1 to 4 units)
+    private final TimeUnit rideTimeUnit;
+    // Random stream of the car (ride durations)
+    private final SplittableRandom random;
+    // Seat a whole carload at once when loading
+    private boolean batchBoarding;
+
+    /**
+     * Constructor.
+     *
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     * @param rideTimeUnit Unit of the ride time (a ride takes 1 to 4 units)
+     */
+    AbstractCar(int id, AbstractLine line, int maxNumberOfRides,
+            int capacity, TimeUnit rideTimeUnit) {
+        this.id = id;
+        this.name = "Car " + id + ":";
+        this.line = line;
+        this.maxNumberOfRides = maxNumberOfRides;
+        this.capacity = capacity;
+        this.rideTimeUnit = rideTimeUnit;
+        this.random = RandomStreams.split();
+    }
+
+    /**
+     * Get the car ID.
+     *
+     * @return Car ID
+     */
+    @Override
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Set whether the car seats a whole carload from the line at once when
+     * loading, instead of letting passengers board one at a time. Must be set
+     * before the car starts.
+     *
+     * @param batchBoarding Seat a whole carload at once
+     */
+    @Override
+    public void setBatchBoarding(boolean batchBoarding) {
+        this.batchBoarding = batchBoarding;
+    }
+
+    /**
+     * Get the capacity of the car.
+     *
+     * @return Capacity of the car
+     */
+    @Override
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Allows passengers to board. With batch boarding the line seats a whole
+     * carload at once.
+     */
+    @Override
+    public void load() {
+        if (this.batchBoarding) {
+            this.line.boardBatch(this);
+            return;
+        }
+        this.openBoarding();
+        // Wake the line
+        this.line.carChanged();
+    }
+
+    /**
+     * Report that the car allowed boarding.
+     *
+     * @param ride Number of the ride being loaded
+     */
+    protected void boardingOpened(int ride) {
+        EventLog.info(this.name, "Boarding...");
+        Transitions.record(JournalEvent.LOAD, this.id, 0, ride);
+    }
+
+    /**
+     * Report that the car allowed unboarding.
+     *
+     * @param ride Number of the ride that ended
+     */
+    protected void unboardingOpened(int ride) {
+        EventLog.info(this.name, "Unboarding...");
+        Transitions.record(JournalEvent.UNLOAD, this.id, 0, ride);
+    }
+
+    /**
+     * Report that a passenger boarded. The message is only built when debug
+     * events are logged.
+     *
+     * @param passenger The passenger
+     */
+    protected void boarded(Passenger passenger) {
+        if (EventLog.isEnabled(EventLog.Level.DEBUG)) {
+            EventLog.debug(this.name, passenger + " is on board.");
+        }
+    }
+
+    /**
+     * Report that a passenger disembarked. The message is only built when
+     * debug events are logged.
+     *
+     * @param passenger The passenger
+     */
+    protected void disembarked(Passenger passenger) {
+        if (EventLog.isEnabled(EventLog.Level.DEBUG)) {
+            EventLog.debug(this.name, passenger + " disembarked.");
+        }
+    }
+
+    /**
+     * Report that the dispatch policy let the car depart before it was full.
+     *
+     * @param seated Number of passengers on board
+     */
+    protected void departing(int seated) {
+        EventLog.info(this.name, "Departing with " + seated + " of "
+                + this.capacity + " seats taken.");
+    }
+
+    /**
+     * Report that a ride started and record how long each passenger waited
+     * for it.
+     *
+     * @param passengers Passengers on board
+     * @param ride Number of the ride
+     */
+    protected void rideStarted(Collection<Passenger> passengers, int ride) {
+        if (EventLog.isEnabled(EventLog.Level.INFO)) {
+            EventLog.info(this.name, "Passengers" + passengers);
+        }
+        // Time each passenger waited for the ride
+        long now = System.nanoTime();
+        for (Passenger passenger : passengers) {
+            if (passenger.getJoinTime() != 0) {
+                Metrics.recordTimeToRide(now - passenger.getJoinTime());
+            }
+        }
+        EventLog.info(this.name, "Ride started.");
+        Transitions.record(JournalEvent.RIDE_START, this.id, 0, ride);
+    }
+
+    /**
+     * Ride. Must be called without holding a lock of the car, so the line and
+     * the other cars of the fleet are not blocked while the car is moving.
+     *
+     * @param passengers Number of passengers on board
+     */
+    protected void ride(int passengers) {
+        long start = System.nanoTime();
+        try {
+            this.rideTimeUnit.sleep(this.random.nextInt(4) + 1);
+        } catch (InterruptedException ex) {
+            Logger.getLogger(AbstractCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
+        }
+        Metrics.recordRide(System.nanoTime() - start, passengers,
+                this.capacity);
+    }
+
+    /**
+     * Report that a ride ended.
+     *
+     * @param ride Number of the ride
+     */
+    protected void rideEnded(int ride) {
+        EventLog.info(this.name, "Ride ended.");
+        Transitions.record(JournalEvent.RIDE_END, this.id, 0, ride);
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName() + "{" + "ID = " + this.id
+                + ", Max number of rides per day = " + this.maxNumberOfRides
+                + ", Capacity of the car = " + this.capacity + '}';
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.rollercoaster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import rollercoastercore.dispatch.FullCarPolicy;
+import rollercoastercore.dispatch.DispatchPolicy;
+import rollercoastercore.rollercoaster.Passenger;
+import rollercoastercore.rollercoaster.LineController;
+
+/**
+ * Common part of the lines that serve a fleet of cars: the cars served and
+ * when they depart. Subclasses keep the passengers in line and decide how
+ * they are seated in the loading cars.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+public abstract class AbstractLine implements LineController {
+
+    // Cars served by the line (read without a lock)
+    private final List<LineCar> cars;
+    // When the cars depart (read by the cars without a lock)
+    private volatile DispatchPolicy dispatchPolicy;
+
+    /**
+     * Constructor.
+     */
+    protected AbstractLine() {
+        this.cars = new CopyOnWriteArrayList<>();
+        this.dispatchPolicy = new FullCarPolicy();
+    }
+
+    /**
+     * Add a car to be served by the line.
+     *
+     * @param car The car
+     */
+    public void addCar(LineCar car) {
+        this.cars.add(car);
+    }
+
+    /**
+     * Get the cars served by the line.
+     *
+     * @return Cars served by the line
+     */
+    List<LineCar> getCars() {
+        return this.cars;
+    }
+
+    /**
+     * Set when the cars depart. Must be set before the cars start.
+     *
+     * @param dispatchPolicy Dispatch policy of the cars
+     */
+    public void setDispatchPolicy(DispatchPolicy dispatchPolicy) {
+        this.dispatchPolicy = dispatchPolicy;
+    }
+
+    /**
+     * Get when the cars depart.
+     *
+     * @return Dispatch policy of the cars
+     */
+    public DispatchPolicy getDispatchPolicy() {
+        return this.dispatchPolicy;
+    }
+
+    /**
+     * Get true if any car of the line is in operation and false otherwise.
+     *
+     * @return True if any car of the line is in operation and false otherwise
+     */
+    @Override
+    public boolean isInOperation() {
+        return this.cars.stream().anyMatch(LineCar::isInOperation);
+    }
+
+    /**
+     * Wait until the passenger boards a car.
+     *
+     * @param passenger The passenger
+     *
+     * @return The car the passenger boarded or null if every car closed
+     */
+    @Override
+    public abstract LineCar awaitBoarding(Passenger passenger);
+
+    /**
+     * Open boarding of a car and seat a carload from the line at once. Must
+     * not be called while holding a car lock.
+     *
+     * @param car The car
+     */
+    public abstract void boardBatch(LineCar car);
+
+    /**
+     * Wake the line after a car opened boarding or closed. Must not be called
+     * while holding a car lock.
+     */
+    public abstract void carChanged();
+}
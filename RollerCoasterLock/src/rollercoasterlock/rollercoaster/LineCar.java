@@ -0,0 +1,91 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.rollercoaster;
+
+import java.util.List;
+import rollercoastercore.rollercoaster.Passenger;
+import rollercoastercore.rollercoaster.CarController;
+
+/**
+ * A Roller Coaster car as its line sees it: the line seats passengers in the
+ * car and reads its state to pick the car that is loading.
+ *
+ * The line lock is always acquired before a car lock, never after.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+public interface LineCar extends CarController {
+
+    /**
+     * Set whether the car seats a whole carload from the line at once when
+     * loading, instead of letting passengers board one at a time. Must be set
+     * before the car starts.
+     *
+     * @param batchBoarding Seat a whole carload at once
+     */
+    void setBatchBoarding(boolean batchBoarding);
+
+    /**
+     * Add passenger in the car if it still allows boarding. A car may stop
+     * boarding before it is full if the dispatch policy lets it depart.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger boarded and false otherwise
+     */
+    boolean tryAddPassenger(Passenger passenger);
+
+    /**
+     * Add passengers in the car at once, while it allows boarding.
+     *
+     * @param passengers The passengers (in boarding order)
+     *
+     * @return Number of passengers that boarded (the first ones of the list)
+     */
+    int addPassengers(List<Passenger> passengers);
+
+    /**
+     * Allow boarding without waking the line. Called by the line, which wakes
+     * its passengers itself.
+     */
+    void openBoarding();
+
+    /**
+     * Get true if the car allows boarding and false otherwise.
+     *
+     * @return True if the car allows boarding and false otherwise
+     */
+    boolean isAllowBoarding();
+
+    /**
+     * Get true if the car is in operation. That is, get true if the total
+     * number of rides is less than maximum number of rides.
+     *
+     * @return True if the total number of rides is less than maximum number of
+     * rides.
+     */
+    boolean isInOperation();
+
+    /**
+     * Get the capacity of the car.
+     *
+     * @return Capacity of the car
+     */
+    int getCapacity();
+
+    /**
+     * Get the number of fast-pass passengers on board.
+     *
+     * @return Number of fast-pass passengers on board
+     */
+    int getFastPassPassengers();
+
+    /**
+     * Get the number of free seats.
+     *
+     * @return Number of free seats
+     */
+    int getFreeSeats();
+}
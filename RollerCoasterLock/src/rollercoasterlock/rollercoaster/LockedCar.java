@@ -0,0 +1,225 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.rollercoaster;
+
+import java.util.Set;
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+import rollercoastercore.metrics.Metrics;
+import rollercoastercore.rollercoaster.CarState;
+import rollercoastercore.dispatch.DispatchPolicy;
+import rollercoastercore.rollercoaster.Passenger;
+
+/**
+ * Car whose state is a set of flags and counters guarded by a lock. This
+ * class keeps the state and its bookkeeping (seating, unseating, loading,
+ * departing and riding); subclasses choose the lock and how the state is
+ * read. The bookkeeping methods do not lock: they must be called while
+ * holding the lock of the car, and the write lock if the lock has one.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+abstract class LockedCar extends AbstractCar {
+
+    // Total number of rides daily
+    protected int totalRides;
+    // Is in moving
+    protected boolean moving;
+    // Allow boarding
+    protected boolean allowBoarding;
+    // Allow unboarding
+    protected boolean allowUnboarding;
+    // When the car is ready
+    protected boolean ready;
+    // Number of passengers on board
+    protected int seated;
+    // Number of fast-pass passengers on board
+    protected int fastPassSeated;
+    // Passengers on board (in boarding order)
+    protected final Set<Passenger> passengers;
+
+    // Time when the car last allowed boarding (nanoseconds)
+    protected long loadTime;
+    // Time between the last load and its first boarding (nanoseconds)
+    protected long boardingLatency;
+    // Time when the car last allowed unboarding (nanoseconds)
+    private long unloadTime;
+
+    /**
+     * Constructor.
+     *
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     * @param rideTimeUnit Unit of the ride time (a ride takes 1 to 4 units)
+     */
+    LockedCar(int id, AbstractLine line, int maxNumberOfRides,
+            int capacity, TimeUnit rideTimeUnit) {
+        super(id, line, maxNumberOfRides, capacity, rideTimeUnit);
+        this.totalRides = 0;
+        // State variables
+        this.ready = false;
+        this.moving = false;
+        this.allowBoarding = false;
+        this.allowUnboarding = false;
+        // Passengers
+        this.passengers = new LinkedHashSet<>();
+    }
+
+    /**
+     * Seat a passenger and depart if the car is full.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger boarded and false otherwise
+     */
+    protected boolean seat(Passenger passenger) {
+        // Check if the car isn't full
+        if (this.seated == this.capacity || !this.passengers.add(passenger)) {
+            return false;
+        }
+        this.seated++;
+        if (passenger.isFastPass()) {
+            this.fastPassSeated++;
+        }
+        this.boarded(passenger);
+        // Check if it is the first boarding since the last load
+        if (this.seated == 1) {
+            this.boardingLatency = System.nanoTime() - this.loadTime;
+        }
+        // Check if the car full
+        if (this.seated == this.capacity) {
+            this.depart();
+        }
+        return true;
+    }
+
+    /**
+     * Unseat a passenger and stop unboarding once the car is empty.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the car got empty and false otherwise
+     */
+    protected boolean unseat(Passenger passenger) {
+        // Check if the passenger is in the car
+        if (!this.passengers.remove(passenger)) {
+            return false;
+        }
+        this.seated--;
+        if (passenger.isFastPass()) {
+            this.fastPassSeated--;
+        }
+        this.disembarked(passenger);
+        // Check if the car is empty
+        if (this.seated > 0) {
+            return false;
+        }
+        this.allowUnboarding = false;
+        Metrics.recordUnload(System.nanoTime() - this.unloadTime);
+        return true;
+    }
+
+    /**
+     * Allow boarding.
+     */
+    protected void startBoarding() {
+        this.boardingOpened(this.totalRides + 1);
+        this.allowBoarding = true;
+        this.loadTime = System.nanoTime();
+    }
+
+    /**
+     * Allow unboarding.
+     */
+    protected void startUnboarding() {
+        this.unboardingOpened(this.totalRides);
+        this.allowUnboarding = true;
+        this.unloadTime = System.nanoTime();
+    }
+
+    /**
+     * Get how long the car may still wait for passengers before the dispatch
+     * policy lets it depart.
+     *
+     * @param policy Dispatch policy of the line
+     *
+     * @return Time left in nanoseconds (zero or less if the car may depart
+     * now, Long.MAX_VALUE if it must wait to be full)
+     */
+    protected long departureDelay(DispatchPolicy policy) {
+        long wait = policy.getMaxWait(this.seated, this.capacity);
+        if (wait == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return this.loadTime + this.boardingLatency + wait - System.nanoTime();
+    }
+
+    /**
+     * Depart before the car is full, as the dispatch policy allows.
+     */
+    protected void departEarly() {
+        this.departing(this.seated);
+        this.depart();
+    }
+
+    /**
+     * Stop boarding and get ready to ride.
+     */
+    protected void depart() {
+        this.allowBoarding = false;
+        this.ready = true;
+        Metrics.recordLoad(System.nanoTime() - this.loadTime);
+    }
+
+    /**
+     * Start the ride if the car is ready and still in operation.
+     *
+     * @return Number of passengers on board or -1 if the ride did not start
+     */
+    protected int startRide() {
+        // Check if the car will still work
+        if (!this.inOperation() || !this.ready) {
+            return -1;
+        }
+        // Starts moving
+        this.ready = false;
+        this.moving = true;
+        this.totalRides++;
+        this.rideStarted(this.passengers, this.totalRides);
+        return this.seated;
+    }
+
+    /**
+     * End the ride.
+     */
+    protected void endRide() {
+        // Stops moving
+        this.moving = false;
+        this.rideEnded(this.totalRides);
+    }
+
+    /**
+     * Get true if the total number of rides is less than maximum number of
+     * rides.
+     *
+     * @return True if the car is in operation and false otherwise
+     */
+    protected boolean inOperation() {
+        return this.maxNumberOfRides > this.totalRides;
+    }
+
+    /**
+     * Get a snapshot of the state of the car.
+     *
+     * @return State of the car
+     */
+    protected CarState state() {
+        return new CarState(this.inOperation(), this.moving,
+                this.seated == this.capacity, this.seated == 0, this.ready,
+                this.allowBoarding, this.allowUnboarding);
+    }
+}
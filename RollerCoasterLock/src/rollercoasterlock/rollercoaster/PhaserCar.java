@@ -0,0 +1,473 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.rollercoaster;
+
+import java.util.Set;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import rollercoastercore.metrics.Metrics;
+import rollercoastercore.rollercoaster.CarState;
+import rollercoastercore.dispatch.DispatchPolicy;
+import rollercoastercore.rollercoaster.Passenger;
+
+/**
+ * This class represents a Roller Coaster car whose ride cycle is driven by a
+ * phaser instead of state flags. Each ride goes through four phases: idle,
+ * boarding, ride and unboarding. The handler is a party of every phase and
+ * each seat is a party from the load until its passenger unboards.
+ *
+ * Loading registers a party per seat and releases a seat permit per seat.
+ * A passenger boards by taking a permit and arrives at the boarding phase;
+ * seats still free at the departure are drained and deregistered, so the
+ * ride starts once every seated passenger has boarded. Passengers on board
+ * arrive at the ride phase and wait for the handler to end it, which allows
+ * unboarding, and leave by arriving at the unboarding phase and
+ * deregistering. No thread spins and no lock is taken: every handoff is a
+ * phaser advance or a semaphore permit.
+ *
+ * The phaser times every phase as it advances, which gives the load and
+ * unload metrics. Only the handler changes the stage of the ride, so the
+ * states it reads are consistent.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+public class PhaserCar extends AbstractCar {
+
+    // Phases of a ride (the phase number modulo PHASES)
+    private static final int IDLE = 0;
+    private static final int BOARDING = 1;
+    private static final int RIDE = 2;
+    private static final int UNBOARDING = 3;
+    // Number of phases of a ride (divides the phase numbers before they wrap
+    // around, so the stage of the ride survives the wrap)
+    private static final int PHASES = 4;
+
+    // Total number of rides daily (written by the handler)
+    private volatile int totalRides;
+    // Is in moving (written by the handler)
+    private volatile boolean moving;
+    // Phase of the last ride that started (written by the handler)
+    private volatile int ridePhase;
+    // Phase the handler arrived at to allow unboarding (handler only)
+    private int unloadPhase;
+    // Passengers on board
+    private final Set<Passenger> passengers;
+    // Number of fast-pass passengers on board
+    private final AtomicInteger fastPassSeated;
+
+    // Ride cycle
+    private final Phaser phaser;
+    // Free seats while boarding
+    private final Semaphore seats;
+    // One permit per boarding since the last load (wakes the handler)
+    private final Semaphore boardings;
+
+    // Time when the current phase started (nanoseconds)
+    private volatile long phaseStart;
+    // Time when the car last allowed boarding (nanoseconds)
+    private volatile long loadTime;
+    // Time of the first boarding since the last load (0 if none)
+    private final AtomicLong firstBoarding;
+
+    /**
+     * Constructor.
+     *
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     */
+    public PhaserCar(int id, AbstractLine line, int maxNumberOfRides,
+            int capacity) {
+        this(id, line, maxNumberOfRides, capacity, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     * @param rideTimeUnit Unit of the ride time (a ride takes 1 to 4 units)
+     */
+    public PhaserCar(int id, AbstractLine line, int maxNumberOfRides,
+            int capacity, TimeUnit rideTimeUnit) {
+        super(id, line, maxNumberOfRides, capacity, rideTimeUnit);
+        // A phaser has at most 65535 parties (the handler and the seats)
+        if (capacity < 1 || capacity > 65534) {
+            throw new IllegalArgumentException("Invalid capacity: "
+                    + capacity);
+        }
+        this.totalRides = 0;
+        // State variables
+        this.moving = false;
+        this.ridePhase = -1;
+        // Passengers
+        this.passengers = ConcurrentHashMap.newKeySet();
+        this.fastPassSeated = new AtomicInteger();
+        // Ride cycle (the handler is the first party)
+        this.phaseStart = System.nanoTime();
+        this.phaser = new Phaser(1) {
+            @Override
+            protected boolean onAdvance(int phase, int parties) {
+                PhaserCar.this.phaseEnded(phase);
+                return false;
+            }
+        };
+        this.seats = new Semaphore(0);
+        this.boardings = new Semaphore(0);
+        this.firstBoarding = new AtomicLong();
+    }
+
+    /**
+     * Time the phase that ended and start timing the next one. Called by the
+     * last thread to arrive at the phase.
+     *
+     * @param phase Phase that ended
+     */
+    private void phaseEnded(int phase) {
+        long now = System.nanoTime();
+        long duration = now - this.phaseStart;
+        this.phaseStart = now;
+        switch (phase % PHASES) {
+            case BOARDING:
+                Metrics.recordLoad(duration);
+                break;
+            case UNBOARDING:
+                Metrics.recordUnload(duration);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Add passenger in the car. A passenger can only take a seat while the
+     * car is boarding.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger boarded and false otherwise
+     */
+    @Override
+    public boolean addPassenger(Passenger passenger) {
+        return this.tryAddPassenger(passenger);
+    }
+
+    /**
+     * Add passenger in the car if it still allows boarding: take a seat
+     * permit and arrive at the boarding phase.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger boarded and false otherwise
+     */
+    @Override
+    public boolean tryAddPassenger(Passenger passenger) {
+        // Check if there is a free seat
+        if (!this.seats.tryAcquire()) {
+            return false;
+        }
+        if (!this.passengers.add(passenger)) {
+            this.seats.release();
+            return false;
+        }
+        if (passenger.isFastPass()) {
+            this.fastPassSeated.incrementAndGet();
+        }
+        this.firstBoarding.compareAndSet(0, System.nanoTime());
+        this.boarded(passenger);
+        // Wake the handler to check the dispatch policy
+        this.boardings.release();
+        this.phaser.arrive();
+        return true;
+    }
+
+    /**
+     * Add passengers in the car at once, while it allows boarding.
+     *
+     * @param passengers The passengers (in boarding order)
+     *
+     * @return Number of passengers that boarded (the first ones of the list)
+     */
+    @Override
+    public int addPassengers(List<Passenger> passengers) {
+        int boarded = 0;
+        for (Passenger passenger : passengers) {
+            if (!this.tryAddPassenger(passenger)) {
+                break;
+            }
+            boarded++;
+        }
+        return boarded;
+    }
+
+    /**
+     * Wait for the car to allow unboarding: wait for the boarding phase to
+     * end, arrive at the ride phase and wait for the handler to end it. Must
+     * only be called by a passenger on board.
+     */
+    @Override
+    public void awaitUnboarding() {
+        int phase = this.phaser.getPhase();
+        if (phase % PHASES == BOARDING) {
+            this.phaser.awaitAdvance(phase);
+        }
+        this.phaser.arriveAndAwaitAdvance();
+    }
+
+    /**
+     * Remove passenger from the car: arrive at the unboarding phase and leave
+     * the phaser.
+     *
+     * @param passenger The passenger
+     */
+    @Override
+    public void removePassenger(Passenger passenger) {
+        // Check if the passenger is in the car
+        if (this.passengers.remove(passenger)) {
+            if (passenger.isFastPass()) {
+                this.fastPassSeated.decrementAndGet();
+            }
+            this.disembarked(passenger);
+            this.phaser.arriveAndDeregister();
+        }
+    }
+
+    /**
+     * Get true if the passenger is in the car and false otherwise.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is in the car false otherwise
+     */
+    @Override
+    public boolean isInTheCar(Passenger passenger) {
+        return this.passengers.contains(passenger);
+    }
+
+    /**
+     * Get true if the car allows boarding and false otherwise.
+     *
+     * @return True if the car allows boarding and false otherwise
+     */
+    @Override
+    public boolean isAllowBoarding() {
+        return this.phaser.getPhase() % PHASES == BOARDING
+                && this.seats.availablePermits() > 0;
+    }
+
+    /**
+     * Get true if the car allows unboarding and false otherwise.
+     *
+     * @return True if the car allows unboarding and false otherwise
+     */
+    public boolean isAllowUnboarding() {
+        return this.phaser.getPhase() % PHASES == UNBOARDING;
+    }
+
+    /**
+     * Get true if the car is ready and false otherwise.
+     *
+     * @return True if the car is ready and false otherwise
+     */
+    public boolean isReady() {
+        int phase = this.phaser.getPhase();
+        return phase % PHASES == RIDE && phase != this.ridePhase;
+    }
+
+    /**
+     * Get true if the car is moving and false otherwise.
+     *
+     * @return True if the car is moving and false otherwise
+     */
+    public boolean isMoving() {
+        return this.moving;
+    }
+
+    /**
+     * Get the number of fast-pass passengers on board.
+     *
+     * @return Number of fast-pass passengers on board
+     */
+    @Override
+    public int getFastPassPassengers() {
+        return this.fastPassSeated.get();
+    }
+
+    /**
+     * Get the number of free seats.
+     *
+     * @return Number of free seats
+     */
+    @Override
+    public int getFreeSeats() {
+        return this.capacity - this.passengers.size();
+    }
+
+    /**
+     * Get the time between the last load and its first boarding.
+     *
+     * @return Boarding latency in nanoseconds
+     */
+    @Override
+    public long getBoardingLatency() {
+        long first = this.firstBoarding.get();
+        return first == 0 ? 0 : first - this.loadTime;
+    }
+
+    /**
+     * Get when the car last allowed boarding.
+     *
+     * @return Time of the last load in nanoseconds
+     */
+    @Override
+    public long getLoadTime() {
+        return this.loadTime;
+    }
+
+    /**
+     * Get true if the car is in operation. That is, get true if the total
+     * number of rides is less than maximum number of rides.
+     *
+     * @return True if the total number of rides is less than maximum number of
+     * rides.
+     */
+    @Override
+    public boolean isInOperation() {
+        return this.maxNumberOfRides > this.totalRides;
+    }
+
+    /**
+     * Get a snapshot of the state of the car, derived from the phase of the
+     * ride.
+     *
+     * @return State of the car
+     */
+    @Override
+    public CarState getState() {
+        int phase = this.phaser.getPhase();
+        int stage = phase % PHASES;
+        int seated = this.passengers.size();
+        return new CarState(this.maxNumberOfRides > this.totalRides,
+                this.moving, seated == this.capacity, seated == 0,
+                stage == RIDE && phase != this.ridePhase,
+                stage == BOARDING && this.seats.availablePermits() > 0,
+                stage == UNBOARDING);
+    }
+
+    /**
+     * Allow boarding: end the idle phase, register a party per seat and
+     * release the seat permits.
+     */
+    @Override
+    public void openBoarding() {
+        this.boardingOpened(this.totalRides + 1);
+        this.firstBoarding.set(0);
+        this.boardings.drainPermits();
+        // The handler is the only party of the idle phase
+        this.phaser.arriveAndAwaitAdvance();
+        this.loadTime = System.nanoTime();
+        this.phaser.bulkRegister(this.capacity);
+        this.seats.release(this.capacity);
+    }
+
+    /**
+     * Allows passengers to unboard: end the ride phase once every passenger
+     * on board arrived at it.
+     */
+    @Override
+    public void unload() {
+        this.unboardingOpened(this.totalRides);
+        this.unloadPhase = this.phaser.arrive();
+    }
+
+    /**
+     * Wait for the car to depart: until it is full or, if the dispatch policy
+     * of the line allows, until its first passenger has waited on board for
+     * the longest wait of the policy. Then drain the free seats and wait for
+     * the seated passengers to finish boarding.
+     */
+    @Override
+    public void waitDeparture() {
+        DispatchPolicy policy = this.line.getDispatchPolicy();
+        try {
+            int seated = 0;
+            while (seated < this.capacity) {
+                long wait = policy.getMaxWait(seated, this.capacity);
+                if (wait == Long.MAX_VALUE) {
+                    this.boardings.acquire();
+                    seated++;
+                    continue;
+                }
+                long left = this.loadTime + this.getBoardingLatency() + wait
+                        - System.nanoTime();
+                if (left <= 0) {
+                    break;
+                }
+                if (this.boardings.tryAcquire(left, TimeUnit.NANOSECONDS)) {
+                    seated++;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(PhaserCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
+        }
+        // Close the free seats, so no passenger boards after the departure
+        int free = this.seats.drainPermits();
+        if (free > 0) {
+            this.departing(this.capacity - free);
+        }
+        for (int i = 0; i < free; i++) {
+            this.phaser.arriveAndDeregister();
+        }
+        this.phaser.arriveAndAwaitAdvance();
+    }
+
+    /**
+     * Wait for the car to be empty: wait for unboarding to be allowed, then
+     * for every passenger to arrive at the unboarding phase.
+     */
+    @Override
+    public void waitEmpty() {
+        this.phaser.awaitAdvance(this.unloadPhase);
+        this.phaser.arriveAndAwaitAdvance();
+    }
+
+    /**
+     * Run. Only the handler starts and ends the ride, so it needs no lock.
+     */
+    @Override
+    public void run() {
+        int phase = this.phaser.getPhase();
+        // Check if the car will still work
+        if (!this.isInOperation() || phase % PHASES != RIDE
+                || phase == this.ridePhase) {
+            return;
+        }
+        // Starts moving
+        this.moving = true;
+        this.ridePhase = phase;
+        this.totalRides++;
+        this.rideStarted(this.passengers, this.totalRides);
+        int passengers = this.passengers.size();
+        // Wake the line if it was the last ride of the day
+        if (!this.isInOperation()) {
+            this.line.carChanged();
+        }
+        this.ride(passengers);
+        // Stops moving
+        this.moving = false;
+        this.rideEnded(this.totalRides);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.rollercoaster;
+
+import java.util.Set;
+import java.util.Map;
+import java.util.List;
+import java.util.Deque;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.Condition;
+import rollercoasterlock.profiler.LockProfiler;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.rollercoaster.Passenger;
+
+/**
+ * This class represents a loading platform of a multi-platform line. Each
+ * platform has its own queue and its own lock, so passengers joining
+ * different platforms never contend. Passengers park on their own condition
+ * until a car seats them.
+ *
+ * The platform lock is always acquired before a car lock, never after.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+class Platform {
+
+    // Platform ID
+    private final int id;
+    // Passenger queue
+    private final Deque<Passenger> queue;
+    // Passengers in the queue (by identity, so queries do not scan it)
+    private final Set<Passenger> waiting;
+    // Condition each passenger parks on while waiting to be seated
+    private final Map<Passenger, Condition> turns;
+    // Seated passengers (and their car)
+    private final Map<Passenger, LineCar> seated;
+    // Length of the queue (read without the lock)
+    private volatile int size;
+
+    // Lock
+    private final Lock lock;
+
+    /**
+     * Constructor.
+     *
+     * @param id Platform ID
+     */
+    Platform(int id) {
+        this.id = id;
+        this.queue = new ArrayDeque<>();
+        this.waiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.turns = new IdentityHashMap<>();
+        this.seated = new IdentityHashMap<>();
+        this.lock = LockProfiler.newLock("Platform " + id);
+    }
+
+    /**
+     * Get the length of the queue. The value is read without the lock and
+     * may be stale.
+     *
+     * @return Length of the queue
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Add passenger to queue. The line adds each passenger once.
+     *
+     * @param passenger The passenger
+     */
+    void add(Passenger passenger) {
+        this.lock.lock();
+        try {
+            this.queue.add(passenger);
+            this.waiting.add(passenger);
+            this.size = this.queue.size();
+            this.turns.computeIfAbsent(passenger,
+                    (p) -> this.lock.newCondition());
+            if (EventLog.isEnabled(EventLog.Level.DEBUG)) {
+                EventLog.debug(passenger, "is in line at platform " + this.id
+                        + ".");
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove passenger from the queue, if it is the next.
+     *
+     * @param passenger The passenger
+     */
+    void remove(Passenger passenger) {
+        this.lock.lock();
+        try {
+            if (passenger == this.queue.peek()) {
+                this.queue.remove();
+                this.waiting.remove(passenger);
+                this.size = this.queue.size();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get true if the passenger is in the queue and false otherwise.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is in the queue and false otherwise
+     */
+    boolean contains(Passenger passenger) {
+        this.lock.lock();
+        try {
+            return this.waiting.contains(passenger);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get the next passenger of the queue.
+     *
+     * @return The next passenger of the queue or null if it is empty
+     */
+    Passenger peek() {
+        this.lock.lock();
+        try {
+            return this.queue.peek();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Seat up to the free seats of a car from the head of the queue and wake
+     * the seated passengers.
+     *
+     * @param car The car
+     * @param seats Number of free seats
+     *
+     * @return Number of passengers seated
+     */
+    int board(LineCar car, int seats) {
+        this.lock.lock();
+        try {
+            List<Passenger> batch = new ArrayList<>(seats);
+            while (batch.size() < seats && !this.queue.isEmpty()) {
+                batch.add(this.queue.remove());
+            }
+            // Passengers the car did not take (it departed meanwhile) go
+            // back to the head of the queue
+            int boarded = car.addPassengers(batch);
+            while (batch.size() > boarded) {
+                this.queue.addFirst(batch.remove(batch.size() - 1));
+            }
+            this.size = this.queue.size();
+            for (Passenger passenger : batch) {
+                this.waiting.remove(passenger);
+                this.seated.put(passenger, car);
+                this.turns.get(passenger).signal();
+            }
+            return batch.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until a car seats the passenger or every car closes.
+     *
+     * @param passenger The passenger
+     * @param line Roller Coaster line
+     *
+     * @return The car the passenger boarded or null if every car closed
+     */
+    LineCar awaitBoarding(Passenger passenger, AbstractLine line) {
+        this.lock.lock();
+        try {
+            Condition turn = this.turns.computeIfAbsent(passenger,
+                    (p) -> this.lock.newCondition());
+            LineCar car = this.seated.remove(passenger);
+            while (car == null) {
+                // Check if every car closed
+                if (!line.isInOperation()) {
+                    return null;
+                }
+                turn.await();
+                car = this.seated.remove(passenger);
+            }
+            return car;
+        } catch (InterruptedException ex) {
+            Logger.getLogger(Platform.class.getName())
+                    .log(Level.SEVERE, null, ex);
+            return null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Wake every passenger in the queue (every car closed).
+     */
+    void wakeAll() {
+        this.lock.lock();
+        try {
+            this.queue.forEach((p) -> this.turns.get(p).signal());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Platform " + this.id;
+    }
+}
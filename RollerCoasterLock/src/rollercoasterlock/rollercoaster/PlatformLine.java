@@ -0,0 +1,207 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.rollercoaster;
+
+import java.util.Map;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import rollercoastercore.rollercoaster.Passenger;
+
+/**
+ * This class represents a Roller Coaster line split into several loading
+ * platforms, each with its own queue and lock. Arriving passengers join the
+ * shortest platform. A loading car is seated from its home platform and,
+ * when that one is empty, steals from the longest platform, so the cars stay
+ * full under skewed arrivals and the service stays roughly first-come,
+ * first-served.
+ *
+ * Cars are always seated a carload at a time by a single dispatcher: the
+ * thread that finds the dispatcher idle runs it, and any request made while
+ * it runs makes it scan the platforms again, so no passenger is left waiting
+ * beside a loading car.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class PlatformLine extends AbstractLine {
+
+    // Loading platforms
+    private final List<Platform> platforms;
+    // Platform of each passenger in line
+    private final Map<Passenger, Platform> platformOf;
+    // Pending dispatch requests (the dispatcher runs while it is not zero)
+    private final AtomicInteger requests;
+
+    /**
+     * Constructor.
+     *
+     * @param platforms Number of loading platforms
+     */
+    public PlatformLine(int platforms) {
+        if (platforms < 1) {
+            throw new IllegalArgumentException("Invalid number of platforms: "
+                    + platforms);
+        }
+        this.platforms = new ArrayList<>(platforms);
+        for (int i = 0; i < platforms; i++) {
+            this.platforms.add(new Platform(i + 1));
+        }
+        this.platformOf = new ConcurrentHashMap<>();
+        this.requests = new AtomicInteger();
+    }
+
+    @Override
+    public void addPassengerToQueue(Passenger passenger) {
+        // Join the shortest platform
+        Platform shortest = this.platforms.get(0);
+        for (Platform platform : this.platforms) {
+            if (platform.size() < shortest.size()) {
+                shortest = platform;
+            }
+        }
+        if (this.platformOf.putIfAbsent(passenger, shortest) == null) {
+            this.getDispatchPolicy().recordArrival(System.nanoTime());
+            shortest.add(passenger);
+            this.dispatch();
+        }
+    }
+
+    @Override
+    public void removePassengerFromTheQueue(Passenger passenger) {
+        Platform platform = this.platformOf.get(passenger);
+        if (platform != null && passenger == platform.peek()) {
+            platform.remove(passenger);
+            this.platformOf.remove(passenger);
+        }
+    }
+
+    @Override
+    public boolean isInLine(Passenger passenger) {
+        Platform platform = this.platformOf.get(passenger);
+        return platform != null && platform.contains(passenger);
+    }
+
+    @Override
+    public boolean lineIsEmpty() {
+        return this.platforms.stream().allMatch((p) -> p.size() == 0);
+    }
+
+    /**
+     * Get the next passenger to board in a car: the next of the longest
+     * platform.
+     *
+     * @return The next passenger to board in a car
+     */
+    @Override
+    public Passenger nextPassenger() {
+        Platform longest = this.longest();
+        return longest == null ? null : longest.peek();
+    }
+
+    @Override
+    public LineCar awaitBoarding(Passenger passenger) {
+        Platform platform = this.platformOf.get(passenger);
+        if (platform == null) {
+            return null;
+        }
+        LineCar car = platform.awaitBoarding(passenger, this);
+        if (car != null) {
+            this.platformOf.remove(passenger);
+        }
+        return car;
+    }
+
+    /**
+     * Open boarding of a car and seat it from the platforms. Must not be
+     * called while holding a car lock.
+     *
+     * @param car The car
+     */
+    @Override
+    public void boardBatch(LineCar car) {
+        car.openBoarding();
+        this.dispatch();
+    }
+
+    /**
+     * Seat the loading cars after a car opened boarding, or wake every
+     * platform after every car closed. Must not be called while holding a
+     * car lock.
+     */
+    @Override
+    public void carChanged() {
+        if (this.isInOperation()) {
+            this.dispatch();
+        } else {
+            this.platforms.forEach(Platform::wakeAll);
+        }
+    }
+
+    /**
+     * Run the dispatcher, or make the running dispatcher scan again.
+     */
+    private void dispatch() {
+        if (this.requests.getAndIncrement() != 0) {
+            return;
+        }
+        int handled = 1;
+        do {
+            this.seatLoadingCars();
+            handled = this.requests.addAndGet(-handled);
+        } while (handled != 0);
+    }
+
+    /**
+     * Seat every loading car from its home platform and steal from the
+     * longest platform when the home platform is empty.
+     */
+    private void seatLoadingCars() {
+        List<LineCar> cars = this.getCars();
+        for (int i = 0; i < cars.size(); i++) {
+            LineCar car = cars.get(i);
+            if (!car.isAllowBoarding()) {
+                continue;
+            }
+            Platform home = this.platforms.get(i % this.platforms.size());
+            int seats = car.getFreeSeats();
+            while (seats > 0) {
+                Platform platform = home.size() > 0 ? home : this.longest();
+                if (platform == null) {
+                    break;
+                }
+                int boarded = platform.board(car, seats);
+                if (boarded == 0 && platform == home) {
+                    // The home platform emptied meanwhile, steal instead
+                    platform = this.longest();
+                    if (platform == null) {
+                        break;
+                    }
+                    boarded = platform.board(car, seats);
+                }
+                if (boarded == 0) {
+                    break;
+                }
+                seats -= boarded;
+            }
+        }
+    }
+
+    /**
+     * Get the longest non-empty platform.
+     *
+     * @return The longest platform or null if every platform is empty
+     */
+    private Platform longest() {
+        Platform longest = null;
+        for (Platform platform : this.platforms) {
+            if (platform.size() > 0
+                    && (longest == null || platform.size() > longest.size())) {
+                longest = platform;
+            }
+        }
+        return longest;
+    }
+}
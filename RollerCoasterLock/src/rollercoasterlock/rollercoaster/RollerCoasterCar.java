@@ -4,17 +4,15 @@
 package rollercoasterlock.rollercoaster;
 
 import java.util.List;
-import java.util.Queue;
-import java.util.Random;
-import java.util.ArrayList;
-import java.util.ArrayDeque;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import rollercoasterlock.Passenger;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
+import rollercoasterlock.profiler.LockProfiler;
+import rollercoastercore.rollercoaster.CarState;
+import rollercoastercore.dispatch.DispatchPolicy;
+import rollercoastercore.rollercoaster.Passenger;
 
 /**
  * This class represents the Roller Coaster car.
@@ -22,169 +20,123 @@ import java.util.concurrent.locks.ReentrantLock;
  * @author Breno & Patrícia
  * @version 27/05/2017
  */
-public class RollerCoasterCar {
-
-    // Maximum Number of Rides
-    private static final int MAX_NUMBER_OF_RIDES = 4;
-    // Capacity
-    private static final int CAPACITY = 4;
-
-    // Singleton
-    private static RollerCoasterCar instance
-            = new RollerCoasterCar(MAX_NUMBER_OF_RIDES, CAPACITY);
-
-    // Maximum Number of Rides
-    private final int maxNumberOfRides;
-    // Capacity
-    private final int capacity;
-
-    // Total number of rides daily
-    private int totalRides;
-    // Is in moving
-    private boolean moving;
-    // Allow boarding
-    private boolean allowBoarding;
-    // Allow unboarding
-    private boolean allowUnboarding;
-    // When the car is ready
-    private boolean ready;
-    // List of passengers
-    private List<Passenger> passengers;
-    // Passenger queue
-    private Queue<Passenger> queue;
+public class RollerCoasterCar extends LockedCar {
 
     // Lock
-    private Lock lock = new ReentrantLock();
-    private Condition full = this.lock.newCondition();
-    private Condition empty = this.lock.newCondition();
+    private final Lock lock;
+    private final Condition boarded;
+    private final Condition empty;
+    private final Condition unboarding;
 
     /**
      * Constructor.
      *
+     * @param id Car ID
+     * @param line Line that serves the car
      * @param maxNumberOfRides Maximum number of rides
      * @param capacity Car capacity
      */
-    private RollerCoasterCar(int maxNumberOfRides, int capacity) {
-        // Control variables
-        this.maxNumberOfRides = maxNumberOfRides;
-        this.capacity = capacity;
-        this.totalRides = 0;
-        // State variables
-        this.ready = false;
-        this.moving = false;
-        this.allowBoarding = false;
-        this.allowUnboarding = false;
-        // Passengers
-        this.passengers = new ArrayList<>();
-        this.queue = new ArrayDeque<>();
+    public RollerCoasterCar(int id, AbstractLine line,
+            int maxNumberOfRides, int capacity) {
+        this(id, line, maxNumberOfRides, capacity, TimeUnit.SECONDS);
     }
 
     /**
-     * Get instance of car.
+     * Constructor.
      *
-     * @return Instance of car
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     * @param rideTimeUnit Unit of the ride time (a ride takes 1 to 4 units)
      */
-    public static RollerCoasterCar getInstance() {
-        return instance;
+    public RollerCoasterCar(int id, AbstractLine line,
+            int maxNumberOfRides, int capacity, TimeUnit rideTimeUnit) {
+        super(id, line, maxNumberOfRides, capacity, rideTimeUnit);
+        // Lock
+        this.lock = LockProfiler.newLock("Car " + id);
+        this.boarded = this.lock.newCondition();
+        this.empty = this.lock.newCondition();
+        this.unboarding = this.lock.newCondition();
     }
 
     /**
-     * Add passenger to queue.
+     * Add passenger in the car.
      *
      * @param passenger The passenger
-     */
-    public void addPassengerToQueue(Passenger passenger) {
-        this.lock.lock();
-        try {
-            if (!this.queue.contains(passenger)) {
-                this.queue.add(passenger);
-                System.out.println(passenger.toString() + " is in line.");
-            }
-        } finally {
-            this.lock.unlock();
-        }
-    }
-
-    /**
-     * Remove passenger from the queue.
      *
-     * @param passenger The passenger
+     * @return True if the passenger boarded and false otherwise
      */
-    public void removePassengerFromTheQueue(Passenger passenger) {
+    @Override
+    public boolean addPassenger(Passenger passenger) {
         this.lock.lock();
         try {
-            // Check if the passenger is the next
-            if (passenger == this.nextPassenger()) {
-                this.queue.remove();
+            if (!this.seat(passenger)) {
+                return false;
             }
+            // Wake the handler to check the dispatch policy
+            this.boarded.signal();
+            return true;
         } finally {
             this.lock.unlock();
         }
     }
 
     /**
-     * Get true if the passenger is in line and false otherwise.
+     * Add passenger in the car if it still allows boarding. A car may stop
+     * boarding before it is full if the dispatch policy lets it depart.
      *
      * @param passenger The passenger
      *
-     * @return True if the passenger is in line false otherwise
+     * @return True if the passenger boarded and false otherwise
      */
-    public boolean isInLine(Passenger passenger) {
+    @Override
+    public boolean tryAddPassenger(Passenger passenger) {
         this.lock.lock();
         try {
-            return this.queue.contains(passenger);
+            return this.allowBoarding && this.addPassenger(passenger);
         } finally {
             this.lock.unlock();
         }
     }
 
     /**
-     * Get true if the line is empty and false otherwise.
+     * Add passengers in the car at once, while it allows boarding.
      *
-     * @return True if the line is empty and false otherwise
-     */
-    public boolean lineIsEmpty() {
-        this.lock.lock();
-        try {
-            return this.queue.isEmpty();
-        } finally {
-            this.lock.unlock();
-        }
-    }
-
-    /**
-     * Get the next passenger to board in the car.
+     * @param passengers The passengers (in boarding order)
      *
-     * @return The next passenger to board in the car
+     * @return Number of passengers that boarded (the first ones of the list)
      */
-    public Passenger nextPassenger() {
+    @Override
+    public int addPassengers(List<Passenger> passengers) {
         this.lock.lock();
         try {
-            return this.queue.peek();
+            int boarded = 0;
+            for (Passenger passenger : passengers) {
+                if (!this.tryAddPassenger(passenger)) {
+                    break;
+                }
+                boarded++;
+            }
+            return boarded;
         } finally {
             this.lock.unlock();
         }
     }
 
     /**
-     * Add passenger in the car.
-     *
-     * @param passenger The passenger
+     * Wait for the car to allow unboarding.
      */
-    public void addPassenger(Passenger passenger) {
+    @Override
+    public void awaitUnboarding() {
         this.lock.lock();
         try {
-            // Check if the car isn't full
-            if (!this.isFull() && !this.passengers.contains(passenger)) {
-                this.passengers.add(passenger);
-                System.out.println(passenger.toString() + " is on board.");
-                // Check if the car full
-                if (this.isFull()) {
-                    this.full.signal();
-                    this.allowBoarding = false;
-                    this.ready = true;
-                }
+            while (!this.allowUnboarding) {
+                this.unboarding.await();
             }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(RollerCoasterCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
         } finally {
             this.lock.unlock();
         }
@@ -195,18 +147,13 @@ public class RollerCoasterCar {
      *
      * @param passenger The passenger
      */
+    @Override
     public void removePassenger(Passenger passenger) {
         this.lock.lock();
         try {
-            // Check if the car in't empty
-            if (!this.passengers.isEmpty()) {
-                this.passengers.remove(passenger);
-                System.out.println(passenger.toString() + " disembarked.");
-                // Check if the car is empty
-                if (this.passengers.isEmpty()) {
-                    this.empty.signal();
-                    this.allowUnboarding = false;
-                }
+            // Check if the car is empty
+            if (this.unseat(passenger)) {
+                this.empty.signal();
             }
         } finally {
             this.lock.unlock();
@@ -220,6 +167,7 @@ public class RollerCoasterCar {
      *
      * @return True if the passenger is in the car false otherwise
      */
+    @Override
     public boolean isInTheCar(Passenger passenger) {
         this.lock.lock();
         try {
@@ -234,6 +182,7 @@ public class RollerCoasterCar {
      *
      * @return True if the car allows boarding and false otherwise
      */
+    @Override
     public boolean isAllowBoarding() {
         this.lock.lock();
         try {
@@ -277,12 +226,7 @@ public class RollerCoasterCar {
      * @return True if the car is full and false otherwise
      */
     public boolean isFull() {
-        this.lock.lock();
-        try {
-            return this.passengers.size() == this.CAPACITY;
-        } finally {
-            this.lock.unlock();
-        }
+        return this.getFreeSeats() == 0;
     }
 
     /**
@@ -291,12 +235,7 @@ public class RollerCoasterCar {
      * @return True if the car is empty and false otherwise
      */
     public boolean isEmpty() {
-        this.lock.lock();
-        try {
-            return this.passengers.isEmpty();
-        } finally {
-            this.lock.unlock();
-        }
+        return this.getFreeSeats() == this.capacity;
     }
 
     /**
@@ -319,9 +258,64 @@ public class RollerCoasterCar {
      * @return True if the car is stopped and false otherwise.
      */
     public boolean isStopped() {
+        return !this.isMoving();
+    }
+
+    /**
+     * Get the number of fast-pass passengers on board.
+     *
+     * @return Number of fast-pass passengers on board
+     */
+    @Override
+    public int getFastPassPassengers() {
         this.lock.lock();
         try {
-            return !this.isMoving();
+            return this.fastPassSeated;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of free seats.
+     *
+     * @return Number of free seats
+     */
+    @Override
+    public int getFreeSeats() {
+        this.lock.lock();
+        try {
+            return this.capacity - this.seated;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get the time between the last load and its first boarding.
+     *
+     * @return Boarding latency in nanoseconds
+     */
+    @Override
+    public long getBoardingLatency() {
+        this.lock.lock();
+        try {
+            return this.boardingLatency;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get when the car last allowed boarding.
+     *
+     * @return Time of the last load in nanoseconds
+     */
+    @Override
+    public long getLoadTime() {
+        this.lock.lock();
+        try {
+            return this.loadTime;
         } finally {
             this.lock.unlock();
         }
@@ -334,24 +328,40 @@ public class RollerCoasterCar {
      * @return True if the total number of rides is less than maximum number of
      * rides.
      */
+    @Override
     public boolean isInOperation() {
         this.lock.lock();
         try {
-            return this.MAX_NUMBER_OF_RIDES > this.totalRides;
+            return this.inOperation();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get a snapshot of the state of the car, read in a single lock
+     * acquisition.
+     *
+     * @return State of the car
+     */
+    @Override
+    public CarState getState() {
+        this.lock.lock();
+        try {
+            return this.state();
         } finally {
             this.lock.unlock();
         }
     }
 
     /**
-     * Allows passengers to board.
+     * Allow boarding.
      */
-    public void load() {
+    @Override
+    public void openBoarding() {
         this.lock.lock();
         try {
-            // Allow boarding
-            System.out.println("Boarding...");
-            this.allowBoarding = true;
+            this.startBoarding();
         } finally {
             this.lock.unlock();
         }
@@ -360,29 +370,40 @@ public class RollerCoasterCar {
     /**
      * Allows passengers to unboard.
      */
+    @Override
     public void unload() {
         this.lock.lock();
         try {
-            // Allow unboarding
-            System.out.println("Unboarding...");
-            this.allowUnboarding = true;
+            this.startUnboarding();
+            this.unboarding.signalAll();
         } finally {
             this.lock.unlock();
         }
     }
 
     /**
-     * Wait for the car to be full.
+     * Wait for the car to depart: until it is full or, if the dispatch policy
+     * of the line allows, until its first passenger has waited on board for
+     * the longest wait of the policy.
      */
-    public void waitFull() {
+    @Override
+    public void waitDeparture() {
+        DispatchPolicy policy = this.line.getDispatchPolicy();
         this.lock.lock();
         try {
-            try {
-                this.full.await();
-            } catch (InterruptedException ex) {
-                Logger.getLogger(RollerCoasterCar.class.getName())
-                        .log(Level.SEVERE, null, ex);
+            while (!this.ready) {
+                long left = this.departureDelay(policy);
+                if (left == Long.MAX_VALUE) {
+                    this.boarded.await();
+                } else if (left <= 0) {
+                    this.departEarly();
+                } else {
+                    this.boarded.awaitNanos(left);
+                }
             }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(RollerCoasterCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
         } finally {
             this.lock.unlock();
         }
@@ -391,54 +412,47 @@ public class RollerCoasterCar {
     /**
      * Wait for the car to be empty.
      */
+    @Override
     public void waitEmpty() {
         this.lock.lock();
         try {
-            try {
+            while (this.seated > 0) {
                 this.empty.await();
-            } catch (InterruptedException ex) {
-                Logger.getLogger(RollerCoasterCar.class.getName())
-                        .log(Level.SEVERE, null, ex);
             }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(RollerCoasterCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
         } finally {
             this.lock.unlock();
         }
     }
 
     /**
-     * Run.
+     * Run. The ride itself happens without holding the lock, so the line and
+     * the other cars of the fleet are not blocked while the car is moving.
      */
+    @Override
     public void run() {
-        // Check if the car will still work
-        if (this.isInOperation() && this.isReady()) {
-            System.out.println("Passengers" + this.passengers);
-            this.lock.lock();
-            try {
-                try {
-                    // Starts moving
-                    this.ready = false;
-                    this.moving = true;
-                    // Ride
-                    System.out.println("Ride started.");
-                    this.totalRides++;
-                    TimeUnit.SECONDS.sleep((new Random()).nextInt(4) + 1);
-                    // Stops moving
-                    this.moving = false;
-                    System.out.println("Ride ended.");
-                } catch (InterruptedException ex) {
-                    Logger.getLogger(RollerCoasterCar.class.getName())
-                            .log(Level.SEVERE, null, ex);
-                }
-            } finally {
-                this.lock.unlock();
-            }
+        int passengers;
+        this.lock.lock();
+        try {
+            passengers = this.startRide();
+        } finally {
+            this.lock.unlock();
+        }
+        if (passengers < 0) {
+            return;
+        }
+        // Wake the line if it was the last ride of the day
+        if (!this.isInOperation()) {
+            this.line.carChanged();
+        }
+        this.ride(passengers);
+        this.lock.lock();
+        try {
+            this.endRide();
+        } finally {
+            this.lock.unlock();
         }
-    }
-
-    @Override
-    public String toString() {
-        return "RollerCoasterCar{" + "Max number of rides per day = "
-                + this.MAX_NUMBER_OF_RIDES + ", Capacity of the car = "
-                + this.CAPACITY + '}';
     }
 }
@@ -0,0 +1,420 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.rollercoaster;
+
+import java.util.Set;
+import java.util.Map;
+import java.util.List;
+import java.util.Deque;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.Condition;
+import rollercoasterlock.profiler.LockProfiler;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.rollercoaster.Passenger;
+
+/**
+ * This class represents the Roller Coaster line. The line is shared by all
+ * cars of the fleet and dispatches the next passenger in line to whichever
+ * car is loading.
+ *
+ * Each passenger parks on its own condition, so only the passengers that can
+ * board are woken: the next in line when a car opens boarding, and every
+ * passenger of a carload seated at once by a batch load.
+ *
+ * Passengers with a fast pass wait in their own queue and board ahead of the
+ * standby passengers, up to a share of each carload. A standby passenger that
+ * has waited longer than the standby bound boards before any fast pass.
+ *
+ * The line lock is always acquired before a car lock, never after.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class RollerCoasterLine extends AbstractLine {
+
+    // Passenger queue of each tier
+    private final Deque<Passenger> standby;
+    private final Deque<Passenger> fastPass;
+    // Passengers in line (index of the queues)
+    private final Set<Passenger> line;
+    // When each passenger in line joined it (nanoseconds)
+    private final Map<Passenger, Long> joined;
+    // Condition each passenger parks on while waiting for its turn
+    private final Map<Passenger, Condition> turns;
+    // Passengers seated by a batch load (and their car)
+    private final Map<Passenger, LineCar> seated;
+
+    // Largest share of each carload given to fast-pass passengers
+    private double fastPassShare;
+    // Longest wait of a standby passenger before it boards ahead of the
+    // fast-pass passengers (nanoseconds)
+    private long standbyMaxWait;
+
+    // Lock
+    private final Lock lock = LockProfiler.newLock("Line");
+
+    /**
+     * Constructor.
+     */
+    public RollerCoasterLine() {
+        this.standby = new ArrayDeque<>();
+        this.fastPass = new ArrayDeque<>();
+        this.line = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.joined = new IdentityHashMap<>();
+        this.fastPassShare = 1;
+        this.standbyMaxWait = Long.MAX_VALUE;
+        this.turns = new IdentityHashMap<>();
+        this.seated = new IdentityHashMap<>();
+    }
+
+    /**
+     * Set the largest share of each carload given to fast-pass passengers.
+     * Seats beyond the share go to standby passengers, unless none is in
+     * line.
+     *
+     * @param fastPassShare Share of each carload (0 to 1)
+     */
+    public void setFastPassShare(double fastPassShare) {
+        if (fastPassShare < 0 || fastPassShare > 1) {
+            throw new IllegalArgumentException("Invalid fast-pass share: "
+                    + fastPassShare);
+        }
+        this.lock.lock();
+        try {
+            this.fastPassShare = fastPassShare;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Set the longest wait of a standby passenger before it boards ahead of
+     * the fast-pass passengers.
+     *
+     * @param standbyMaxWait Longest wait of a standby passenger
+     * @param unit Time unit of the wait
+     */
+    public void setStandbyMaxWait(long standbyMaxWait, TimeUnit unit) {
+        this.lock.lock();
+        try {
+            this.standbyMaxWait = unit.toNanos(standbyMaxWait);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Add passenger to queue.
+     *
+     * @param passenger The passenger
+     */
+    @Override
+    public void addPassengerToQueue(Passenger passenger) {
+        this.lock.lock();
+        try {
+            if (this.line.add(passenger)) {
+                (passenger.isFastPass() ? this.fastPass : this.standby)
+                        .add(passenger);
+                long now = System.nanoTime();
+                this.joined.put(passenger, now);
+                this.getDispatchPolicy().recordArrival(now);
+                this.turns.computeIfAbsent(passenger,
+                        (p) -> this.lock.newCondition());
+                EventLog.debug(passenger, "is in line.");
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove passenger from the queue.
+     *
+     * @param passenger The passenger
+     */
+    @Override
+    public void removePassengerFromTheQueue(Passenger passenger) {
+        this.lock.lock();
+        try {
+            // Check if the passenger is the next
+            if (passenger == this.nextPassenger()) {
+                this.dequeue(passenger);
+                // Wake the new next passenger
+                this.signal(this.nextPassenger());
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get true if the passenger is in line and false otherwise.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is in line false otherwise
+     */
+    @Override
+    public boolean isInLine(Passenger passenger) {
+        this.lock.lock();
+        try {
+            return this.line.contains(passenger);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get true if the line is empty and false otherwise.
+     *
+     * @return True if the line is empty and false otherwise
+     */
+    @Override
+    public boolean lineIsEmpty() {
+        this.lock.lock();
+        try {
+            return this.line.isEmpty();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get the next passenger to board in a car.
+     *
+     * @return The next passenger to board in a car
+     */
+    @Override
+    public Passenger nextPassenger() {
+        this.lock.lock();
+        try {
+            return this.head(this.fastPassSeats(this.loadingCar()));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Get the next passenger of the line. A standby passenger that waited
+     * longer than the standby bound goes first, then a fast-pass passenger
+     * while there are fast-pass seats left, then a standby passenger. Must be
+     * called while holding the line lock.
+     *
+     * @param fastPassSeats Fast-pass seats left in the loading car
+     *
+     * @return The next passenger of the line or null if it is empty
+     */
+    private Passenger head(int fastPassSeats) {
+        Passenger fast = this.fastPass.peek();
+        Passenger stand = this.standby.peek();
+        if (fast == null || stand == null) {
+            return fast == null ? stand : fast;
+        }
+        // Check if the standby passenger waited too long
+        if (System.nanoTime() - this.joined.get(stand) >= this.standbyMaxWait) {
+            return stand;
+        }
+        return fastPassSeats > 0 ? fast : stand;
+    }
+
+    /**
+     * Get the fast-pass seats left in a car. Must be called while holding the
+     * line lock.
+     *
+     * @param car The car (none if null)
+     *
+     * @return Fast-pass seats left in the car
+     */
+    private int fastPassSeats(LineCar car) {
+        if (car == null) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) (this.fastPassShare * car.getCapacity())
+                - car.getFastPassPassengers();
+    }
+
+    /**
+     * Remove the next passenger from its queue. Must be called while holding
+     * the line lock.
+     *
+     * @param passenger The next passenger
+     */
+    private void dequeue(Passenger passenger) {
+        (passenger == this.fastPass.peek() ? this.fastPass : this.standby)
+                .remove();
+        this.line.remove(passenger);
+        this.joined.remove(passenger);
+    }
+
+    /**
+     * Put a passenger back at the head of its queue, as it was before it was
+     * removed. Must be called while holding the line lock.
+     *
+     * @param passenger The passenger
+     * @param joined When the passenger joined the line (nanoseconds)
+     */
+    private void requeue(Passenger passenger, long joined) {
+        (passenger.isFastPass() ? this.fastPass : this.standby)
+                .addFirst(passenger);
+        this.line.add(passenger);
+        this.joined.put(passenger, joined);
+    }
+
+    /**
+     * Get the car that is loading passengers. When several cars are loading,
+     * the one that opened boarding first is filled first, so the passengers
+     * already on board are not left waiting for a car that opened later.
+     *
+     * @return The car that is loading passengers or null if there is none
+     */
+    private LineCar loadingCar() {
+        LineCar loading = null;
+        for (LineCar car : this.getCars()) {
+            if (car.isAllowBoarding() && (loading == null
+                    || car.getLoadTime() - loading.getLoadTime() < 0)) {
+                loading = car;
+            }
+        }
+        return loading;
+    }
+
+    /**
+     * Wait for the turn of the passenger and board the car that is loading.
+     * The passenger parks until it is the next in line and a car is loading,
+     * until a batch load seats it, or until every car closes.
+     *
+     * @param passenger The passenger
+     *
+     * @return The car the passenger boarded or null if every car closed
+     */
+    @Override
+    public LineCar awaitBoarding(Passenger passenger) {
+        this.lock.lock();
+        try {
+            Condition turn = this.turns.computeIfAbsent(passenger,
+                    (p) -> this.lock.newCondition());
+            LineCar car = this.seated.remove(passenger);
+            // Wait for the turn of the passenger or for a batch load
+            while (car == null) {
+                car = this.loadingCar();
+                if (car != null) {
+                    Passenger next = this.head(this.fastPassSeats(car));
+                    // Check if it is the turn of the passenger and if the
+                    // car did not depart meanwhile
+                    if (passenger == next && car.tryAddPassenger(passenger)) {
+                        // Get out of the queue
+                        this.dequeue(passenger);
+                        // Wake the new next passenger
+                        this.signal(this.nextPassenger());
+                        return car;
+                    }
+                    // The turn moved to another tier, wake its passenger
+                    if (passenger != next) {
+                        this.signal(next);
+                    }
+                }
+                // Check if every car closed
+                if (!this.isInOperation()) {
+                    return null;
+                }
+                turn.await();
+                car = this.seated.remove(passenger);
+            }
+            return car;
+        } catch (InterruptedException ex) {
+            Logger.getLogger(RollerCoasterLine.class.getName())
+                    .log(Level.SEVERE, null, ex);
+            return null;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Open boarding of a car and seat a carload from the head of the line at
+     * once. Only the seated passengers are woken; seats left when the line is
+     * short are taken one passenger at a time. Must not be called while
+     * holding a car lock.
+     *
+     * @param car The car
+     */
+    @Override
+    public void boardBatch(LineCar car) {
+        this.lock.lock();
+        try {
+            car.openBoarding();
+            // Take a carload from the head of the line
+            int seats = car.getFreeSeats();
+            int fastPassSeats = this.fastPassSeats(car);
+            List<Passenger> batch = new ArrayList<>(seats);
+            List<Long> joins = new ArrayList<>(seats);
+            while (batch.size() < seats && !this.line.isEmpty()) {
+                Passenger passenger = this.head(fastPassSeats);
+                joins.add(this.joined.get(passenger));
+                this.dequeue(passenger);
+                batch.add(passenger);
+                if (passenger.isFastPass()) {
+                    fastPassSeats--;
+                }
+            }
+            // Passengers the car did not take (it departed meanwhile) go
+            // back to the head of their queue
+            int boarded = car.addPassengers(batch);
+            while (batch.size() > boarded) {
+                int last = batch.size() - 1;
+                this.requeue(batch.remove(last), joins.remove(last));
+            }
+            // Wake only the seated passengers
+            for (Passenger passenger : batch) {
+                this.seated.put(passenger, car);
+                this.signal(passenger);
+            }
+            // Wake the new next passenger (another car may still be loading)
+            this.signal(this.nextPassenger());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Wake the line after a car opened boarding or closed: the next passenger
+     * while any car is in operation and every passenger in line otherwise.
+     * Must not be called while holding a car lock.
+     */
+    @Override
+    public void carChanged() {
+        this.lock.lock();
+        try {
+            if (this.isInOperation()) {
+                this.signal(this.nextPassenger());
+            } else {
+                this.line.forEach(this::signal);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Wake a passenger parked in line. Must be called while holding the line
+     * lock.
+     *
+     * @param passenger The passenger (none if null)
+     */
+    private void signal(Passenger passenger) {
+        if (passenger != null) {
+            Condition turn = this.turns.get(passenger);
+            if (turn != null) {
+                turn.signal();
+            }
+        }
+    }
+}
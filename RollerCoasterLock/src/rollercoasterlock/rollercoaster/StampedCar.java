@@ -0,0 +1,577 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlock.rollercoaster;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.StampedLock;
+import java.util.concurrent.locks.ReentrantLock;
+import rollercoastercore.rollercoaster.CarState;
+import rollercoastercore.dispatch.DispatchPolicy;
+import rollercoastercore.rollercoaster.Passenger;
+
+/**
+ * This class represents a Roller Coaster car guarded by a stamped lock. The
+ * passengers, the handler and the line mostly read the state of the car, so
+ * the queries read it optimistically, without writing to the lock, and only
+ * fall back to the read lock when a writer changed the state meanwhile.
+ * Boarding, unboarding, loading and riding take the write lock.
+ *
+ * A stamped lock has no conditions, so threads that wait for the car park on
+ * the conditions of a separate lock, which only guards the waiting. A waiter
+ * holds it while checking the state and a writer takes it after changing the
+ * state to signal, so no signal is lost. It is always acquired before the
+ * stamped lock, never after. The stamped lock is not reentrant and is not
+ * profiled.
+ *
+ * @author Breno & Patrícia
+ * @version 18/10/2026
+ */
+public class StampedCar extends LockedCar {
+
+    // Lock (guards the state)
+    private final StampedLock lock;
+    // Lock the waiting threads park on
+    private final Lock parking;
+    private final Condition boarded;
+    private final Condition empty;
+    private final Condition unboarding;
+
+    /**
+     * Constructor.
+     *
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     */
+    public StampedCar(int id, AbstractLine line, int maxNumberOfRides,
+            int capacity) {
+        this(id, line, maxNumberOfRides, capacity, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     * @param rideTimeUnit Unit of the ride time (a ride takes 1 to 4 units)
+     */
+    public StampedCar(int id, AbstractLine line, int maxNumberOfRides,
+            int capacity, TimeUnit rideTimeUnit) {
+        super(id, line, maxNumberOfRides, capacity, rideTimeUnit);
+        // Lock
+        this.lock = new StampedLock();
+        this.parking = new ReentrantLock();
+        this.boarded = this.parking.newCondition();
+        this.empty = this.parking.newCondition();
+        this.unboarding = this.parking.newCondition();
+    }
+
+    /**
+     * Add passenger in the car.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger boarded and false otherwise
+     */
+    @Override
+    public boolean addPassenger(Passenger passenger) {
+        boolean boarded;
+        long stamp = this.lock.writeLock();
+        try {
+            boarded = this.seat(passenger);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+        if (boarded) {
+            // Wake the handler to check the dispatch policy
+            this.signal(this.boarded);
+        }
+        return boarded;
+    }
+
+    /**
+     * Add passenger in the car if it still allows boarding. A car may stop
+     * boarding before it is full if the dispatch policy lets it depart.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger boarded and false otherwise
+     */
+    @Override
+    public boolean tryAddPassenger(Passenger passenger) {
+        boolean boarded;
+        long stamp = this.lock.writeLock();
+        try {
+            boarded = this.allowBoarding && this.seat(passenger);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+        if (boarded) {
+            this.signal(this.boarded);
+        }
+        return boarded;
+    }
+
+    /**
+     * Add passengers in the car at once, while it allows boarding.
+     *
+     * @param passengers The passengers (in boarding order)
+     *
+     * @return Number of passengers that boarded (the first ones of the list)
+     */
+    @Override
+    public int addPassengers(List<Passenger> passengers) {
+        int boarded = 0;
+        long stamp = this.lock.writeLock();
+        try {
+            for (Passenger passenger : passengers) {
+                if (!this.allowBoarding || !this.seat(passenger)) {
+                    break;
+                }
+                boarded++;
+            }
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+        if (boarded > 0) {
+            this.signal(this.boarded);
+        }
+        return boarded;
+    }
+
+    /**
+     * Wait for the car to allow unboarding.
+     */
+    @Override
+    public void awaitUnboarding() {
+        this.parking.lock();
+        try {
+            while (!this.isAllowUnboarding()) {
+                this.unboarding.await();
+            }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(StampedCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
+        } finally {
+            this.parking.unlock();
+        }
+    }
+
+    /**
+     * Remove passenger from the car.
+     *
+     * @param passenger The passenger
+     */
+    @Override
+    public void removePassenger(Passenger passenger) {
+        boolean emptied;
+        long stamp = this.lock.writeLock();
+        try {
+            emptied = this.unseat(passenger);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+        // Check if the car is empty
+        if (emptied) {
+            this.signal(this.empty);
+        }
+    }
+
+    /**
+     * Get true if the passenger is in the car and false otherwise. The set of
+     * passengers is not safe to read while it changes, so it is read under the
+     * read lock rather than optimistically.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is in the car false otherwise
+     */
+    @Override
+    public boolean isInTheCar(Passenger passenger) {
+        long stamp = this.lock.readLock();
+        try {
+            return this.passengers.contains(passenger);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Get true if the car allows boarding and false otherwise.
+     *
+     * @return True if the car allows boarding and false otherwise
+     */
+    @Override
+    public boolean isAllowBoarding() {
+        long stamp = this.lock.tryOptimisticRead();
+        boolean allowBoarding = this.allowBoarding;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                allowBoarding = this.allowBoarding;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return allowBoarding;
+    }
+
+    /**
+     * Get true if the car allows unboarding and false otherwise.
+     *
+     * @return True if the car allows unboarding and false otherwise
+     */
+    public boolean isAllowUnboarding() {
+        long stamp = this.lock.tryOptimisticRead();
+        boolean allowUnboarding = this.allowUnboarding;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                allowUnboarding = this.allowUnboarding;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return allowUnboarding;
+    }
+
+    /**
+     * Get true if the car is ready and false otherwise.
+     *
+     * @return True if the car is ready and false otherwise
+     */
+    public boolean isReady() {
+        long stamp = this.lock.tryOptimisticRead();
+        boolean ready = this.ready;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                ready = this.ready;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Get true if the car is full and false otherwise.
+     *
+     * @return True if the car is full and false otherwise
+     */
+    public boolean isFull() {
+        return this.getFreeSeats() == 0;
+    }
+
+    /**
+     * Get true if the car is empty and false otherwise.
+     *
+     * @return True if the car is empty and false otherwise
+     */
+    public boolean isEmpty() {
+        return this.getFreeSeats() == this.capacity;
+    }
+
+    /**
+     * Get true if the car is moving and false otherwise.
+     *
+     * @return True if the car is moving and false otherwise
+     */
+    public boolean isMoving() {
+        long stamp = this.lock.tryOptimisticRead();
+        boolean moving = this.moving;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                moving = this.moving;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return moving;
+    }
+
+    /**
+     * Get true if the car is stopped and false otherwise.
+     *
+     * @return True if the car is stopped and false otherwise.
+     */
+    public boolean isStopped() {
+        return !this.isMoving();
+    }
+
+    /**
+     * Get the number of fast-pass passengers on board.
+     *
+     * @return Number of fast-pass passengers on board
+     */
+    @Override
+    public int getFastPassPassengers() {
+        long stamp = this.lock.tryOptimisticRead();
+        int fastPassSeated = this.fastPassSeated;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                fastPassSeated = this.fastPassSeated;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return fastPassSeated;
+    }
+
+    /**
+     * Get the number of free seats.
+     *
+     * @return Number of free seats
+     */
+    @Override
+    public int getFreeSeats() {
+        long stamp = this.lock.tryOptimisticRead();
+        int seated = this.seated;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                seated = this.seated;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return this.capacity - seated;
+    }
+
+    /**
+     * Get the time between the last load and its first boarding.
+     *
+     * @return Boarding latency in nanoseconds
+     */
+    @Override
+    public long getBoardingLatency() {
+        long stamp = this.lock.tryOptimisticRead();
+        long boardingLatency = this.boardingLatency;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                boardingLatency = this.boardingLatency;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return boardingLatency;
+    }
+
+    /**
+     * Get when the car last allowed boarding.
+     *
+     * @return Time of the last load in nanoseconds
+     */
+    @Override
+    public long getLoadTime() {
+        long stamp = this.lock.tryOptimisticRead();
+        long loadTime = this.loadTime;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                loadTime = this.loadTime;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return loadTime;
+    }
+
+    /**
+     * Get true if the car is in operation. That is, get true if the total
+     * number of rides is less than maximum number of rides.
+     *
+     * @return True if the total number of rides is less than maximum number of
+     * rides.
+     */
+    @Override
+    public boolean isInOperation() {
+        long stamp = this.lock.tryOptimisticRead();
+        boolean inOperation = this.inOperation();
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                inOperation = this.inOperation();
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return inOperation;
+    }
+
+    /**
+     * Get a snapshot of the state of the car, read optimistically and read
+     * again under the read lock if a writer changed it meanwhile.
+     *
+     * @return State of the car
+     */
+    @Override
+    public CarState getState() {
+        long stamp = this.lock.tryOptimisticRead();
+        CarState state = this.state();
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                state = this.state();
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Allow boarding.
+     */
+    @Override
+    public void openBoarding() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.startBoarding();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Allows passengers to unboard.
+     */
+    @Override
+    public void unload() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.startUnboarding();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+        this.parking.lock();
+        try {
+            this.unboarding.signalAll();
+        } finally {
+            this.parking.unlock();
+        }
+    }
+
+    /**
+     * Wait for the car to depart: until it is full or, if the dispatch policy
+     * of the line allows, until its first passenger has waited on board for
+     * the longest wait of the policy. The state is read under the read lock,
+     * which is converted to the write lock to depart.
+     */
+    @Override
+    public void waitDeparture() {
+        DispatchPolicy policy = this.line.getDispatchPolicy();
+        this.parking.lock();
+        try {
+            long stamp = this.lock.readLock();
+            try {
+                while (!this.ready) {
+                    long left = this.departureDelay(policy);
+                    if (left <= 0) {
+                        long write = this.lock.tryConvertToWriteLock(stamp);
+                        if (write == 0) {
+                            // Other readers hold the lock, wait for them
+                            this.lock.unlockRead(stamp);
+                            stamp = this.lock.writeLock();
+                            continue;
+                        }
+                        stamp = write;
+                        this.departEarly();
+                        continue;
+                    }
+                    // Do not hold the lock while parked
+                    this.lock.unlock(stamp);
+                    stamp = 0;
+                    if (left == Long.MAX_VALUE) {
+                        this.boarded.await();
+                    } else {
+                        this.boarded.awaitNanos(left);
+                    }
+                    stamp = this.lock.readLock();
+                }
+            } finally {
+                if (stamp != 0) {
+                    this.lock.unlock(stamp);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(StampedCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
+        } finally {
+            this.parking.unlock();
+        }
+    }
+
+    /**
+     * Wait for the car to be empty.
+     */
+    @Override
+    public void waitEmpty() {
+        this.parking.lock();
+        try {
+            while (!this.isEmpty()) {
+                this.empty.await();
+            }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(StampedCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
+        } finally {
+            this.parking.unlock();
+        }
+    }
+
+    /**
+     * Run. The ride itself happens without holding the lock, so the line and
+     * the other cars of the fleet are not blocked while the car is moving.
+     */
+    @Override
+    public void run() {
+        int passengers;
+        long stamp = this.lock.writeLock();
+        try {
+            passengers = this.startRide();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+        if (passengers < 0) {
+            return;
+        }
+        // Wake the line if it was the last ride of the day
+        if (!this.isInOperation()) {
+            this.line.carChanged();
+        }
+        this.ride(passengers);
+        stamp = this.lock.writeLock();
+        try {
+            this.endRide();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Wake a thread parked on a condition of the car.
+     *
+     * @param condition The condition
+     */
+    private void signal(Condition condition) {
+        this.parking.lock();
+        try {
+            condition.signal();
+        } finally {
+            this.parking.unlock();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+#!/bin/bash
+cd src
+rm -rf ../build
+# Compile (with the shared core)
+javac -d ../build -sourcepath .:../../RollerCoasterCore/src rollercoasterlockfree/*.java rollercoasterlockfree/rollercoaster/*.java ../../RollerCoasterCore/src/rollercoastercore/journal/*.java
+# Generate jar
+jar cfm ../RollerCoasterLockFree.jar ../manifest.mf -C ../build .
@@ -0,0 +1,527 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlockfree.rollercoaster;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.ArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.metrics.Metrics;
+import rollercoastercore.rollercoaster.CarState;
+import rollercoastercore.random.RandomStreams;
+import rollercoastercore.rollercoaster.Transitions;
+import rollercoastercore.journal.JournalEvent;
+import rollercoastercore.rollercoaster.Passenger;
+import rollercoastercore.rollercoaster.CarController;
+
+/**
+ * This class represents the Roller Coaster car. The whole state machine of
+ * the car (moving, boarding, unboarding, ready, seats taken and total rides)
+ * is a single word updated by compare-and-set, and a passenger only sits
+ * once its seat is taken in that word, so no operation ever takes a lock.
+ * Only the threads that must wait for the car (the handler and the
+ * passengers on board) park, and they are unparked by the thread that
+ * changed the state.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class RollerCoasterCar implements CarController {
+
+    // Largest capacity of a car
+    public static final int MAX_CAPACITY = 0xFFFF;
+
+    // State flags (bits 0 to 3)
+    private static final long MOVING = 1L;
+    private static final long BOARDING = 1L << 1;
+    private static final long UNBOARDING = 1L << 2;
+    private static final long READY = 1L << 3;
+    // Seats taken (bits 16 to 31) and total rides (bits 32 to 62)
+    private static final int SEATS = 16;
+    private static final int RIDES = 32;
+    private static final long SEAT = 1L << SEATS;
+    private static final long RIDE = 1L << RIDES;
+
+    // Car ID
+    private final int id;
+    // Car name (source of its events)
+    private final String name;
+    // Line that serves the car
+    private final RollerCoasterLine line;
+    // Maximum Number of Rides
+    private final int maxNumberOfRides;
+    // Capacity
+    private final int capacity;
+    // Unit of the ride time (a ride takes 1 to 4 units)
+    private final TimeUnit rideTimeUnit;
+    // Random stream of the car (ride durations)
+    private final SplittableRandom random;
+
+    // State word
+    private final AtomicLong state;
+    // Passengers on board (null if the seat is free)
+    private final AtomicReferenceArray<Passenger> seats;
+    // Thread of the passenger on each seat
+    private final AtomicReferenceArray<Thread> riders;
+    // Handler waiting for the car to be full or empty
+    private volatile Thread handler;
+
+    // Time when the car last allowed boarding (nanoseconds)
+    private volatile long loadTime;
+    // Time between the last load and its first boarding (nanoseconds)
+    private volatile long boardingLatency;
+    // Time when the car last allowed unboarding (nanoseconds)
+    private volatile long unloadTime;
+
+    /**
+     * Constructor.
+     *
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     */
+    public RollerCoasterCar(int id, RollerCoasterLine line,
+            int maxNumberOfRides, int capacity) {
+        this(id, line, maxNumberOfRides, capacity, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity (at most MAX_CAPACITY)
+     * @param rideTimeUnit Unit of the ride time (a ride takes 1 to 4 units)
+     */
+    public RollerCoasterCar(int id, RollerCoasterLine line,
+            int maxNumberOfRides, int capacity, TimeUnit rideTimeUnit) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Invalid capacity: "
+                    + capacity);
+        }
+        // Control variables
+        this.id = id;
+        this.name = "Car " + id + ":";
+        this.line = line;
+        this.maxNumberOfRides = maxNumberOfRides;
+        this.capacity = capacity;
+        this.rideTimeUnit = rideTimeUnit;
+        this.random = RandomStreams.split();
+        // State variables (stopped, empty and no rides)
+        this.state = new AtomicLong(0);
+        // Passengers
+        this.seats = new AtomicReferenceArray<>(capacity);
+        this.riders = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Get the number of seats taken in a state word.
+     *
+     * @param state State word
+     *
+     * @return Number of seats taken
+     */
+    private static int seats(long state) {
+        return (int) ((state >>> SEATS) & MAX_CAPACITY);
+    }
+
+    /**
+     * Get the total number of rides in a state word.
+     *
+     * @param state State word
+     *
+     * @return Total number of rides
+     */
+    private static int rides(long state) {
+        return (int) (state >>> RIDES);
+    }
+
+    /**
+     * Get the car ID.
+     *
+     * @return Car ID
+     */
+    @Override
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Add passenger in the car. The passenger takes a seat in the seat count
+     * by compare-and-set of the state word, which only succeeds while the car
+     * allows boarding and is not full; the passenger that takes the last seat
+     * also stops boarding and makes the car ready. Only then the passenger
+     * sits on a free seat, which is sure to exist, and wakes the handler once
+     * the car is full.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is on board and false otherwise
+     */
+    @Override
+    public boolean addPassenger(Passenger passenger) {
+        long s;
+        long next;
+        do {
+            s = this.state.get();
+            // Check if the car allows boarding and isn't full
+            if ((s & BOARDING) == 0 || seats(s) == this.capacity) {
+                return false;
+            }
+            next = s + SEAT;
+            // Check if the car is full
+            if (seats(next) == this.capacity) {
+                next = (next & ~BOARDING) | READY;
+            }
+        } while (!this.state.compareAndSet(s, next));
+        // Check if it is the first boarding since the last load
+        if (seats(next) == 1) {
+            this.boardingLatency = System.nanoTime() - this.loadTime;
+        }
+        // Sit on a free seat
+        for (int i = 0; ; i = (i + 1) % this.capacity) {
+            if (this.seats.get(i) == null
+                    && this.seats.compareAndSet(i, null, passenger)) {
+                this.riders.set(i, Thread.currentThread());
+                break;
+            }
+        }
+        if (EventLog.isEnabled(EventLog.Level.DEBUG)) {
+            EventLog.debug(this.name, passenger + " is on board.");
+        }
+        // Check if the car is full
+        if (seats(next) == this.capacity) {
+            Metrics.recordLoad(System.nanoTime() - this.loadTime);
+        }
+        if (this.isFull()) {
+            LockSupport.unpark(this.handler);
+        }
+        return true;
+    }
+
+    /**
+     * Get true if every seat taken in the seat count has its passenger
+     * sitting on it.
+     *
+     * @return True if every seat is occupied and false otherwise
+     */
+    private boolean isSeated() {
+        for (int i = 0; i < this.capacity; i++) {
+            if (this.seats.get(i) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wait for the car to allow unboarding.
+     */
+    @Override
+    public void awaitUnboarding() {
+        while (!this.isAllowUnboarding()) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                Logger.getLogger(RollerCoasterCar.class.getName())
+                        .log(Level.SEVERE, null, new InterruptedException());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove passenger from the car. Only the passenger frees its own seat;
+     * the last one to leave wakes the handler.
+     *
+     * @param passenger The passenger
+     */
+    @Override
+    public void removePassenger(Passenger passenger) {
+        for (int i = 0; i < this.capacity; i++) {
+            if (this.seats.get(i) == passenger) {
+                this.riders.set(i, null);
+                this.seats.set(i, null);
+                if (EventLog.isEnabled(EventLog.Level.DEBUG)) {
+                    EventLog.debug(this.name, passenger + " disembarked.");
+                }
+                long s = this.state.updateAndGet((current) -> {
+                    long next = current - SEAT;
+                    // Check if the car is empty
+                    if (seats(next) == 0) {
+                        next &= ~UNBOARDING;
+                    }
+                    return next;
+                });
+                // Check if the car is empty
+                if (seats(s) == 0) {
+                    Metrics.recordUnload(System.nanoTime() - this.unloadTime);
+                    LockSupport.unpark(this.handler);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get true if the passenger is in the car and false otherwise.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is in the car false otherwise
+     */
+    @Override
+    public boolean isInTheCar(Passenger passenger) {
+        for (int i = 0; i < this.capacity; i++) {
+            if (this.seats.get(i) == passenger) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the passengers on board.
+     *
+     * @return Passengers on board (in seat order)
+     */
+    private List<Passenger> passengers() {
+        List<Passenger> passengers = new ArrayList<>(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            Passenger passenger = this.seats.get(i);
+            if (passenger != null) {
+                passengers.add(passenger);
+            }
+        }
+        return passengers;
+    }
+
+    /**
+     * Get true if the car allows boarding and false otherwise.
+     *
+     * @return True if the car allows boarding and false otherwise
+     */
+    public boolean isAllowBoarding() {
+        return (this.state.get() & BOARDING) != 0;
+    }
+
+    /**
+     * Get true if the car allows unboarding and false otherwise.
+     *
+     * @return True if the car allows unboarding and false otherwise
+     */
+    public boolean isAllowUnboarding() {
+        return (this.state.get() & UNBOARDING) != 0;
+    }
+
+    /**
+     * Get true if the car is ready and false otherwise.
+     *
+     * @return True if the car is ready and false otherwise
+     */
+    public boolean isReady() {
+        return (this.state.get() & READY) != 0;
+    }
+
+    /**
+     * Get true if the car is full and false otherwise.
+     *
+     * @return True if the car is full and false otherwise
+     */
+    public boolean isFull() {
+        return seats(this.state.get()) == this.capacity;
+    }
+
+    /**
+     * Get true if the car is empty and false otherwise.
+     *
+     * @return True if the car is empty and false otherwise
+     */
+    public boolean isEmpty() {
+        return seats(this.state.get()) == 0;
+    }
+
+    /**
+     * Get true if the car is moving and false otherwise.
+     *
+     * @return True if the car is moving and false otherwise
+     */
+    public boolean isMoving() {
+        return (this.state.get() & MOVING) != 0;
+    }
+
+    /**
+     * Get true if the car is stopped and false otherwise.
+     *
+     * @return True if the car is stopped and false otherwise.
+     */
+    public boolean isStopped() {
+        return !this.isMoving();
+    }
+
+    /**
+     * Get the time between the last load and its first boarding.
+     *
+     * @return Boarding latency in nanoseconds
+     */
+    @Override
+    public long getBoardingLatency() {
+        return this.boardingLatency;
+    }
+
+    /**
+     * Get when the car last allowed boarding.
+     *
+     * @return Time of the last load in nanoseconds
+     */
+    @Override
+    public long getLoadTime() {
+        return this.loadTime;
+    }
+
+    /**
+     * Get true if the car is in operation. That is, get true if the total
+     * number of rides is less than maximum number of rides.
+     *
+     * @return True if the total number of rides is less than maximum number of
+     * rides.
+     */
+    public boolean isInOperation() {
+        return this.maxNumberOfRides > rides(this.state.get());
+    }
+
+    /**
+     * Get a snapshot of the state of the car, decoded from a single read of
+     * the state word.
+     *
+     * @return State of the car
+     */
+    @Override
+    public CarState getState() {
+        long s = this.state.get();
+        return new CarState(this.maxNumberOfRides > rides(s),
+                (s & MOVING) != 0, seats(s) == this.capacity, seats(s) == 0,
+                (s & READY) != 0, (s & BOARDING) != 0,
+                (s & UNBOARDING) != 0);
+    }
+
+    /**
+     * Allows passengers to board.
+     */
+    @Override
+    public void load() {
+        // Allow boarding
+        EventLog.info(this.name, "Boarding...");
+        Transitions.record(JournalEvent.LOAD, this.id, 0,
+                rides(this.state.get()) + 1);
+        this.loadTime = System.nanoTime();
+        this.state.updateAndGet((current) -> current | BOARDING);
+        // Wake the line
+        this.line.carChanged();
+    }
+
+    /**
+     * Allows passengers to unboard.
+     */
+    @Override
+    public void unload() {
+        // Allow unboarding
+        EventLog.info(this.name, "Unboarding...");
+        Transitions.record(JournalEvent.UNLOAD, this.id, 0,
+                rides(this.state.get()));
+        this.unloadTime = System.nanoTime();
+        this.state.updateAndGet((current) -> current | UNBOARDING);
+        for (int i = 0; i < this.capacity; i++) {
+            LockSupport.unpark(this.riders.get(i));
+        }
+    }
+
+    /**
+     * Wait for the car to depart, which it does once it is full and every
+     * passenger sits on its seat.
+     */
+    @Override
+    public void waitDeparture() {
+        this.handler = Thread.currentThread();
+        while (!this.isFull() || !this.isSeated()) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                Logger.getLogger(RollerCoasterCar.class.getName())
+                        .log(Level.SEVERE, null, new InterruptedException());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Wait for the car to be empty.
+     */
+    @Override
+    public void waitEmpty() {
+        this.handler = Thread.currentThread();
+        while (!this.isEmpty()) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                Logger.getLogger(RollerCoasterCar.class.getName())
+                        .log(Level.SEVERE, null, new InterruptedException());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Run. The car starts moving and counts the ride in a single
+     * compare-and-set of the state word.
+     */
+    @Override
+    public void run() {
+        long s;
+        do {
+            s = this.state.get();
+            // Check if the car will still work
+            if (rides(s) >= this.maxNumberOfRides || (s & READY) == 0) {
+                return;
+            }
+            // Starts moving
+        } while (!this.state.compareAndSet(s,
+                ((s & ~READY) | MOVING) + RIDE));
+        if (EventLog.isEnabled(EventLog.Level.INFO)) {
+            EventLog.info(this.name, "Passengers" + this.passengers());
+        }
+        // Ride
+        EventLog.info(this.name, "Ride started.");
+        Transitions.record(JournalEvent.RIDE_START, this.id, 0, rides(s) + 1);
+        // Wake the line if it was the last ride of the day
+        if (!this.isInOperation()) {
+            this.line.carChanged();
+        }
+        long start = System.nanoTime();
+        try {
+            this.rideTimeUnit.sleep(this.random.nextInt(4) + 1);
+        } catch (InterruptedException ex) {
+            Logger.getLogger(RollerCoasterCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
+        }
+        Metrics.recordRide(System.nanoTime() - start, seats(s),
+                this.capacity);
+        // Stops moving
+        this.state.updateAndGet((current) -> current & ~MOVING);
+        EventLog.info(this.name, "Ride ended.");
+        Transitions.record(JournalEvent.RIDE_END, this.id, 0, rides(s) + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "RollerCoasterCar{" + "ID = " + this.id
+                + ", Max number of rides per day = " + this.maxNumberOfRides
+                + ", Capacity of the car = " + this.capacity + '}';
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * GNU License.
+ */
+package rollercoasterlockfree.rollercoaster;
+
+import java.util.Set;
+import java.util.Map;
+import java.util.List;
+import java.util.Queue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.rollercoaster.Passenger;
+import rollercoastercore.rollercoaster.LineController;
+
+/**
+ * This class represents the Roller Coaster line. The line is shared by all
+ * cars of the fleet and dispatches the next passenger in line to whichever
+ * car is loading.
+ *
+ * The queue is non-blocking and only the next passenger removes itself from
+ * it, so the head of the queue can only change by that passenger's hand. A
+ * passenger waiting for its turn parks and is unparked when it becomes the
+ * next in line, when a car opens boarding or when every car closes.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class RollerCoasterLine implements LineController {
+
+    // Cars served by the line
+    private final List<RollerCoasterCar> cars;
+    // Passenger queue
+    private final Queue<Passenger> queue;
+    // Passengers in line (index of the queue)
+    private final Set<Passenger> line;
+    // Thread of each passenger that joined the line
+    private final Map<Passenger, Thread> threads;
+
+    /**
+     * Constructor.
+     */
+    public RollerCoasterLine() {
+        this.cars = new CopyOnWriteArrayList<>();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.line = ConcurrentHashMap.newKeySet();
+        this.threads = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Add a car to be served by the line.
+     *
+     * @param car The car
+     */
+    public void addCar(RollerCoasterCar car) {
+        this.cars.add(car);
+    }
+
+    /**
+     * Add passenger to queue.
+     *
+     * @param passenger The passenger
+     */
+    @Override
+    public void addPassengerToQueue(Passenger passenger) {
+        if (this.line.add(passenger)) {
+            this.threads.put(passenger, Thread.currentThread());
+            this.queue.add(passenger);
+            EventLog.debug(passenger, "is in line.");
+        }
+    }
+
+    /**
+     * Remove passenger from the queue.
+     *
+     * @param passenger The passenger
+     */
+    @Override
+    public void removePassengerFromTheQueue(Passenger passenger) {
+        // Check if the passenger is the next (then it stays the next)
+        if (passenger == this.queue.peek()) {
+            this.queue.poll();
+            this.line.remove(passenger);
+            // Wake the new next passenger
+            this.wake(this.queue.peek());
+        }
+    }
+
+    /**
+     * Get true if the passenger is in line and false otherwise.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is in line false otherwise
+     */
+    @Override
+    public boolean isInLine(Passenger passenger) {
+        return this.line.contains(passenger);
+    }
+
+    /**
+     * Get true if the line is empty and false otherwise.
+     *
+     * @return True if the line is empty and false otherwise
+     */
+    @Override
+    public boolean lineIsEmpty() {
+        return this.queue.isEmpty();
+    }
+
+    /**
+     * Get the next passenger to board in a car.
+     *
+     * @return The next passenger to board in a car
+     */
+    @Override
+    public Passenger nextPassenger() {
+        return this.queue.peek();
+    }
+
+    /**
+     * Get true if any car of the line is in operation and false otherwise.
+     *
+     * @return True if any car of the line is in operation and false otherwise
+     */
+    @Override
+    public boolean isInOperation() {
+        return this.cars.stream().anyMatch(RollerCoasterCar::isInOperation);
+    }
+
+    /**
+     * Get the car that is loading passengers. When several cars are loading,
+     * the one that opened boarding first is filled first, so the passengers
+     * already on board are not left waiting for a car that opened later.
+     *
+     * @return The car that is loading passengers or null if there is none
+     */
+    private RollerCoasterCar loadingCar() {
+        RollerCoasterCar loading = null;
+        for (RollerCoasterCar car : this.cars) {
+            if (car.isAllowBoarding() && (loading == null
+                    || car.getLoadTime() - loading.getLoadTime() < 0)) {
+                loading = car;
+            }
+        }
+        return loading;
+    }
+
+    /**
+     * Wait for the turn of the passenger and board the car that is loading.
+     * The passenger parks until it is the next in line and a car is loading,
+     * or until every car closes.
+     *
+     * @param passenger The passenger
+     *
+     * @return The car the passenger boarded or null if every car closed
+     */
+    @Override
+    public RollerCoasterCar awaitBoarding(Passenger passenger) {
+        while (true) {
+            // Check if it is the turn of the passenger
+            if (passenger == this.queue.peek()) {
+                RollerCoasterCar car = this.loadingCar();
+                // Board the car and get out of the queue
+                if (car != null && car.addPassenger(passenger)) {
+                    this.removePassengerFromTheQueue(passenger);
+                    return car;
+                }
+            }
+            // Check if every car closed
+            if (!this.isInOperation()) {
+                return null;
+            }
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                Logger.getLogger(RollerCoasterLine.class.getName())
+                        .log(Level.SEVERE, null, new InterruptedException());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Wake the line after a car opened boarding or closed: the next passenger
+     * while any car is in operation and every passenger in line otherwise.
+     */
+    public void carChanged() {
+        if (this.isInOperation()) {
+            this.wake(this.queue.peek());
+        } else {
+            this.queue.forEach(this::wake);
+        }
+    }
+
+    /**
+     * Wake a passenger parked in line.
+     *
+     * @param passenger The passenger (none if null)
+     */
+    private void wake(Passenger passenger) {
+        if (passenger != null) {
+            LockSupport.unpark(this.threads.get(passenger));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 #!/bin/bash
 cd src
-# Compile
-javac rollercoastermonitor/*.java rollercoastermonitor/rollercoaster/*.java
+rm -rf ../build
+# Compile (with the shared core)
+javac -d ../build -sourcepath .:../../RollerCoasterCore/src rollercoastermonitor/*.java rollercoastermonitor/rollercoaster/*.java ../../RollerCoasterCore/src/rollercoastercore/journal/*.java
 # Generate jar
-jar cfm ../RollerCoasterMonitor.jar ../manifest.mf rollercoastermonitor/*.class rollercoastermonitor/rollercoaster/*.class
+jar cfm ../RollerCoasterMonitor.jar ../manifest.mf -C ../build .
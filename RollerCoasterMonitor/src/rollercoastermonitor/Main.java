@@ -4,10 +4,23 @@
 package rollercoastermonitor;
 
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.ArrayList;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import rollercoastermonitor.rollercoaster.RollerCoasterCar;
-import rollercoastermonitor.rollercoaster.RollerCoasterHandler;
+import rollercoastermonitor.rollercoaster.RollerCoasterLine;
+import rollercoastercore.rollercoaster.Passenger;
+import rollercoastercore.rollercoaster.RollerCoaster;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.metrics.Metrics;
+import rollercoastercore.journal.Journal;
+import rollercoastercore.stream.TransitionStream;
+import rollercoastercore.stream.TransitionCounter;
+import rollercoastercore.random.RandomStreams;
 
 /**
  * This is the main class of Roller Coaster.
@@ -17,25 +30,137 @@ import rollercoastermonitor.rollercoaster.RollerCoasterHandler;
  */
 public class Main {
 
+    // Default maximum Number of Rides of each car (P)
+    private static final int MAX_NUMBER_OF_RIDES = 4;
+    // Default capacity of each car (C)
+    private static final int CAPACITY = 4;
+
     /**
-     * @param args the command line arguments
+     * @param args the command line arguments (--seed=s makes the ride and walk
+     * durations and the crowd size reproducible, --passengers=n, --capacity=C
+     * and --rides=P set the number of passengers, the capacity of each car and
+     * its maximum number of rides, --cars=N runs a fleet of N cars,
+     * --threads=virtual runs passengers on virtual threads, --boarding=batch
+     * seats a whole carload at once, --log=info|debug|off sets the log level,
+     * --log-overflow=block|drop and --log-buffer=size set what happens when the
+     * log buffer is full, --journal=file records every state transition in a
+     * binary journal of --journal-size=MB, --transitions counts the
+     * transitions published on the transition stream). The metrics are exposed
+     * through JMX while the Roller Coaster runs and printed at the end.
      */
     public static void main(String[] args) {
-        // Roller Coaster car
-        RollerCoasterCar car = RollerCoasterCar.getInstance();
+        // Root seed of the random streams (chosen at random if missing)
+        String seed = option(args, "seed", null);
+        if (seed != null) {
+            RandomStreams.seed(Long.parseLong(seed));
+        }
+        // Random stream of the crowd
+        SplittableRandom random = RandomStreams.split();
+        // Number of cars
+        int numberOfCars = Integer.parseInt(option(args, "cars", "1"));
+        // Maximum Number of Rides of each car
+        int maxNumberOfRides = Integer.parseInt(option(args, "rides",
+                String.valueOf(MAX_NUMBER_OF_RIDES)));
+        // Capacity of each car
+        int capacity = Integer.parseInt(option(args, "capacity",
+                String.valueOf(CAPACITY)));
+        // Number of passengers (the crowd grows with the fleet)
+        int numberOfPassengers = Integer.parseInt(option(args, "passengers",
+                String.valueOf(numberOfCars * (capacity + 11
+                        + random.nextInt(10)))));
+        // Check if there are more passengers than seats in a car
+        if (numberOfPassengers <= capacity) {
+            System.err.println("The number of passengers (" + numberOfPassengers
+                    + ") must be greater than the capacity of the car ("
+                    + capacity + ").");
+            System.exit(1);
+        }
+        // Event log
+        EventLog.configure(
+                EventLog.Level.valueOf(option(args, "log", "debug")
+                        .toUpperCase()),
+                EventLog.Overflow.valueOf(option(args, "log-overflow", "block")
+                        .toUpperCase()),
+                Integer.parseInt(option(args, "log-buffer",
+                        String.valueOf(EventLog.CAPACITY))));
+        EventLog.info(null, "Seed = " + RandomStreams.getSeed());
+        // Metrics (JMX)
+        Metrics.register();
+        // Binary journal of every state transition
+        String journal = option(args, "journal", null);
+        if (journal != null) {
+            try {
+                Journal.open(Paths.get(journal), Long.parseLong(
+                        option(args, "journal-size", String.valueOf(
+                                Journal.SIZE >> 20))) << 20);
+            } catch (IOException ex) {
+                Logger.getLogger(Main.class.getName())
+                        .log(Level.SEVERE, null, ex);
+            }
+        }
+        // Stream of every state transition, counted by a subscriber
+        TransitionCounter transitions = null;
+        if (option(args, "transitions", null) != null) {
+            transitions = new TransitionCounter();
+            TransitionStream.get().subscribe(transitions);
+        }
+        // Boarding mode (single or batch)
+        String boarding = option(args, "boarding", "single");
+        if (!boarding.equals("single") && !boarding.equals("batch")) {
+            throw new IllegalArgumentException("Unknown boarding mode: "
+                    + boarding);
+        }
+        // Roller Coaster line
+        RollerCoasterLine line = new RollerCoasterLine();
+        // Roller Coaster cars
+        List<RollerCoasterCar> cars = new ArrayList<>();
+        for (int i = 0; i < numberOfCars; i++) {
+            RollerCoasterCar car = new RollerCoasterCar(i + 1, line,
+                    maxNumberOfRides, capacity);
+            car.setBatchBoarding(boarding.equals("batch"));
+            line.addCar(car);
+            cars.add(car);
+        }
         // Passenger list
         List<Passenger> passengers = new ArrayList<>();
         // Creates the passengers
-        for (int i = 0; i < ((new Random()).nextInt(10) + 15); i++) {
-            passengers.add(new Passenger(i + 1, car));
-        }
-        // Runs passengers
-        passengers.stream().map((passenger)
-                -> new Thread(passenger)).forEach((t) -> {
-            t.start();
-        });
-        // Roller Coaster handler
-        RollerCoasterHandler handler = new RollerCoasterHandler(car);
-        handler.run();
+        for (int i = 0; i < numberOfPassengers; i++) {
+            passengers.add(new Passenger(i + 1, line));
+        }
+        // Runs the day
+        RollerCoaster.run(cars, passengers,
+                option(args, "threads", "platform"));
+        EventLog.info(null, Metrics.summary());
+        if (transitions != null) {
+            TransitionStream stream = TransitionStream.get();
+            TransitionStream.close();
+            transitions.await(10, TimeUnit.SECONDS);
+            EventLog.info(null, transitions.toString());
+            EventLog.info(null, stream.toString());
+        }
+        Journal.close();
+        EventLog.close();
+    }
+
+    /**
+     * Get the value of a command line option written as --name=value. An
+     * option written as --name has an empty value.
+     *
+     * @param args the command line arguments
+     * @param name Option name
+     * @param value Default value
+     *
+     * @return Option value or the default value if the option is missing
+     */
+    private static String option(String[] args, String name, String value) {
+        for (String arg : args) {
+            if (arg.equals("--" + name)) {
+                return "";
+            }
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return value;
     }
 }
@@ -3,36 +3,45 @@
  */
 package rollercoastermonitor.rollercoaster;
 
+import java.util.Set;
 import java.util.List;
-import java.util.Queue;
-import java.util.Random;
-import java.util.ArrayList;
-import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.LinkedHashSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.concurrent.TimeUnit;
-import rollercoastermonitor.Passenger;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.metrics.Metrics;
+import rollercoastercore.rollercoaster.CarState;
+import rollercoastercore.random.RandomStreams;
+import rollercoastercore.rollercoaster.Transitions;
+import rollercoastercore.journal.JournalEvent;
+import rollercoastercore.rollercoaster.Passenger;
+import rollercoastercore.rollercoaster.CarController;
 
 /**
  * This class represents the Roller Coaster car.
  *
  * @author Patricia & Breno
  */
-public class RollerCoasterCar {
-
-    // Maximum Number of Rides
-    private static final int MAX_NUMBER_OF_RIDES = 4;
-    // Capacity
-    private static final int CAPACITY = 4;
-
-    // Singleton
-    private static RollerCoasterCar instance
-            = new RollerCoasterCar(MAX_NUMBER_OF_RIDES, CAPACITY);
+public class RollerCoasterCar implements CarController {
 
+    // Car ID
+    private final int id;
+    // Car name (source of its events)
+    private final String name;
+    // Line that serves the car
+    private final RollerCoasterLine line;
     // Maximum Number of Rides
     private final int maxNumberOfRides;
     // Capacity
     private final int capacity;
+    // Unit of the ride time (a ride takes 1 to 4 units)
+    private final TimeUnit rideTimeUnit;
+    // Random stream of the car (ride durations)
+    private final SplittableRandom random;
+    // Seat a whole carload at once when loading
+    private boolean batchBoarding;
 
     // Total number of rides daily
     private int totalRides;
@@ -44,21 +53,48 @@ public class RollerCoasterCar {
     private boolean allowUnboarding;
     // When the car is ready
     private boolean ready;
-    // List of passengers
-    private List<Passenger> passengers;
-    // Passenger queue
-    private Queue<Passenger> queue;
+    // Passengers on board (in boarding order)
+    private Set<Passenger> passengers;
+
+    // Time when the car last allowed boarding (nanoseconds)
+    private long loadTime;
+    // Time between the last load and its first boarding (nanoseconds)
+    private long boardingLatency;
+    // Time when the car last allowed unboarding (nanoseconds)
+    private long unloadTime;
+
+    /**
+     * Constructor.
+     * 
+     * @param id Car ID
+     * @param line Line that serves the car
+     * @param maxNumberOfRides Maximum number of rides
+     * @param capacity Car capacity
+     */
+    public RollerCoasterCar(int id, RollerCoasterLine line,
+            int maxNumberOfRides, int capacity) {
+        this(id, line, maxNumberOfRides, capacity, TimeUnit.SECONDS);
+    }
 
     /**
      * Constructor.
      * 
+     * @param id Car ID
+     * @param line Line that serves the car
      * @param maxNumberOfRides Maximum number of rides
      * @param capacity Car capacity
+     * @param rideTimeUnit Unit of the ride time (a ride takes 1 to 4 units)
      */
-    private RollerCoasterCar(int maxNumberOfRides, int capacity) {
+    public RollerCoasterCar(int id, RollerCoasterLine line,
+            int maxNumberOfRides, int capacity, TimeUnit rideTimeUnit) {
         // Control variables
+        this.id = id;
+        this.name = "Car " + id + ":";
+        this.line = line;
         this.maxNumberOfRides = maxNumberOfRides;
         this.capacity = capacity;
+        this.rideTimeUnit = rideTimeUnit;
+        this.random = RandomStreams.split();
         this.totalRides = 0;
         // State variables
         this.ready = false;
@@ -66,87 +102,92 @@ public class RollerCoasterCar {
         this.allowBoarding = false;
         this.allowUnboarding = false;
         // Passengers
-        this.passengers = new ArrayList<>();
-        this.queue = new ArrayDeque<>();
+        this.passengers = new LinkedHashSet<>();
     }
 
     /**
-     * Get instance of car.
+     * Get the car ID.
      *
-     * @return Instance of car
+     * @return Car ID
      */
-    public static RollerCoasterCar getInstance() {
-        return instance;
+    @Override
+    public int getId() {
+        return this.id;
     }
 
     /**
-     * Add passenger to queue.
+     * Set whether the car seats a whole carload from the line at once when
+     * loading, instead of letting passengers board one at a time. Must be set
+     * before the car starts.
      *
-     * @param passenger The passenger
+     * @param batchBoarding Seat a whole carload at once
      */
-    public synchronized void addPassengerToQueue(Passenger passenger) {
-        if (!this.queue.contains(passenger)) {
-            this.queue.add(passenger);
-            System.out.println(passenger.toString() + " is in line.");
-        }
+    public void setBatchBoarding(boolean batchBoarding) {
+        this.batchBoarding = batchBoarding;
     }
 
     /**
-     * Remove passenger from the queue.
-     *
-     * @param passenger The passenger
-     */
-    public synchronized void removePassengerFromTheQueue(Passenger passenger) {
-        // Check if the passenger is the next
-        if (passenger == this.nextPassenger()) {
-            this.queue.remove();
-        }
-    }
-
-    /**
-     * Get true if the passenger is in line and false otherwise.
+     * Add passenger in the car.
      *
      * @param passenger The passenger
      *
-     * @return True if the passenger is in line false otherwise
+     * @return True if the passenger boarded and false otherwise
      */
-    public boolean isInLine(Passenger passenger) {
-        return this.queue.contains(passenger);
+    @Override
+    public synchronized boolean addPassenger(Passenger passenger) {
+        // Check if the car isn't full
+        if (this.isFull() || this.passengers.contains(passenger)) {
+            return false;
+        }
+        this.passengers.add(passenger);
+        if (EventLog.isEnabled(EventLog.Level.DEBUG)) {
+            EventLog.debug(this.name, passenger + " is on board.");
+        }
+        // Check if it is the first boarding since the last load
+        if (this.passengers.size() == 1) {
+            this.boardingLatency = System.nanoTime() - this.loadTime;
+        }
+        // Check if the car full
+        if (this.isFull()) {
+            this.allowBoarding = false;
+            this.ready = true;
+            Metrics.recordLoad(System.nanoTime() - this.loadTime);
+            // Wake the handler
+            this.notifyAll();
+        }
+        return true;
     }
 
     /**
-     * Get true if the line is empty and false otherwise.
+     * Add passengers in the car at once, until one of them does not board.
      *
-     * @return True if the line is empty and false otherwise
-     */
-    public boolean lineIsEmpty() {
-        return this.queue.isEmpty();
-    }
-
-    /**
-     * Get the next passenger to board in the car.
+     * @param passengers The passengers (in boarding order)
      *
-     * @return The next passenger to board in the car
+     * @return Number of passengers that boarded (the first ones of the list)
      */
-    public synchronized Passenger nextPassenger() {
-        return this.queue.peek();
+    public synchronized int addPassengers(List<Passenger> passengers) {
+        int boarded = 0;
+        for (Passenger passenger : passengers) {
+            if (!this.addPassenger(passenger)) {
+                break;
+            }
+            boarded++;
+        }
+        return boarded;
     }
 
     /**
-     * Add passenger in the car.
-     *
-     * @param passenger The passenger
+     * Wait for the car to allow unboarding.
      */
-    public synchronized void addPassenger(Passenger passenger) {
-        // Check if the car isn't full
-        if (!this.isFull() && !this.passengers.contains(passenger)) {
-            this.passengers.add(passenger);
-            System.out.println(passenger.toString() + " is on board.");
-            // Check if the car full
-            if (this.isFull()) {
-                this.allowBoarding = false;
-                this.ready = true;
+    @Override
+    public synchronized void awaitUnboarding() {
+        try {
+            while (!this.allowUnboarding) {
+                this.wait();
             }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(RollerCoasterCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
         }
     }
 
@@ -155,14 +196,20 @@ public class RollerCoasterCar {
      *
      * @param passenger The passenger
      */
+    @Override
     public synchronized void removePassenger(Passenger passenger) {
         // Check if the car in't empty
         if (!this.passengers.isEmpty()) {
             this.passengers.remove(passenger);
-            System.out.println(passenger.toString() + " disembarked.");
+            if (EventLog.isEnabled(EventLog.Level.DEBUG)) {
+                EventLog.debug(this.name, passenger + " disembarked.");
+            }
             // Check if the car is empty
             if (this.passengers.isEmpty()) {
                 this.allowUnboarding = false;
+                Metrics.recordUnload(System.nanoTime() - this.unloadTime);
+                // Wake the handler
+                this.notifyAll();
             }
         }
     }
@@ -174,6 +221,7 @@ public class RollerCoasterCar {
      *
      * @return True if the passenger is in the car false otherwise
      */
+    @Override
     public synchronized boolean isInTheCar(Passenger passenger) {
         return this.passengers.contains(passenger);
     }
@@ -241,6 +289,35 @@ public class RollerCoasterCar {
         return !this.isMoving();
     }
 
+    /**
+     * Get the number of free seats.
+     *
+     * @return Number of free seats
+     */
+    public synchronized int getFreeSeats() {
+        return this.capacity - this.passengers.size();
+    }
+
+    /**
+     * Get the time between the last load and its first boarding.
+     *
+     * @return Boarding latency in nanoseconds
+     */
+    @Override
+    public synchronized long getBoardingLatency() {
+        return this.boardingLatency;
+    }
+
+    /**
+     * Get when the car last allowed boarding.
+     *
+     * @return Time of the last load in nanoseconds
+     */
+    @Override
+    public synchronized long getLoadTime() {
+        return this.loadTime;
+    }
+
     /**
      * Get true if the car is in operation. That is, get true if the total
      * number of rides is less than maximum number of rides.
@@ -253,75 +330,130 @@ public class RollerCoasterCar {
     }
 
     /**
-     * Allows passengers to board.
+     * Get a snapshot of the state of the car, read in a single monitor
+     * entry.
+     *
+     * @return State of the car
      */
+    @Override
+    public synchronized CarState getState() {
+        return new CarState(this.maxNumberOfRides > this.totalRides,
+                this.moving, this.passengers.size() == this.capacity,
+                this.passengers.isEmpty(), this.ready, this.allowBoarding,
+                this.allowUnboarding);
+    }
+
+    /**
+     * Allows passengers to board. With batch boarding the line seats a whole
+     * carload at once.
+     */
+    @Override
     public void load() {
-        // Allow boarding
-        System.out.println("Boarding...");
+        if (this.batchBoarding) {
+            this.line.boardBatch(this);
+            return;
+        }
+        this.openBoarding();
+        // Wake the line
+        this.line.carChanged();
+    }
+
+    /**
+     * Allow boarding.
+     */
+    synchronized void openBoarding() {
+        EventLog.info(this.name, "Boarding...");
+        Transitions.record(JournalEvent.LOAD, this.id, 0, this.totalRides + 1);
         this.allowBoarding = true;
+        this.loadTime = System.nanoTime();
     }
 
     /**
      * Allows passengers to unboard.
      */
-    public void unload() {
+    @Override
+    public synchronized void unload() {
         // Allow unboarding
-        System.out.println("Unboarding...");
+        EventLog.info(this.name, "Unboarding...");
+        Transitions.record(JournalEvent.UNLOAD, this.id, 0, this.totalRides);
         this.allowUnboarding = true;
+        this.unloadTime = System.nanoTime();
+        this.notifyAll();
     }
 
     /**
-     * Wait for the car to be full.
+     * Wait for the car to depart, which it does once it is full. The
+     * passenger that takes the last seat wakes the handler.
      */
-    public void waitFull() {
-        System.out.println("Waiting for the car to be full");
-        while (!this.isFull()) {
-            try {
-                // Do nothing
-                TimeUnit.MILLISECONDS.sleep(500);
-            } catch (InterruptedException ex) {
-                Logger.getLogger(RollerCoasterCar.class.getName())
-                        .log(Level.SEVERE, null, ex);
+    @Override
+    public synchronized void waitDeparture() {
+        EventLog.info(this.name, "Waiting for the car to be full");
+        try {
+            while (!this.isFull()) {
+                this.wait();
             }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(RollerCoasterCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
         }
-        System.out.println("The car is full");
+        EventLog.info(this.name, "The car is full");
     }
 
     /**
-     * Wait for the car to be empty.
+     * Wait for the car to be empty. The last passenger to leave wakes the
+     * handler.
      */
-    public void waitEmpty() {
-        System.out.println("Waiting for the car to be empty");
-        while (!this.isEmpty()) {
-            try {
-                //do nothing
-                TimeUnit.MILLISECONDS.sleep(500);
-            } catch (InterruptedException ex) {
-                Logger.getLogger(RollerCoasterCar.class.getName())
-                        .log(Level.SEVERE, null, ex);
+    @Override
+    public synchronized void waitEmpty() {
+        EventLog.info(this.name, "Waiting for the car to be empty");
+        try {
+            while (!this.isEmpty()) {
+                this.wait();
             }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(RollerCoasterCar.class.getName())
+                    .log(Level.SEVERE, null, ex);
         }
-        System.out.println("The car is empty");
+        EventLog.info(this.name, "The car is empty");
     }
 
     /**
      * Run.
      */
+    @Override
     public void run() {
         // Check if the car will still work
         if (this.isInOperation() && this.isReady()) {
-            System.out.println("Passengers" + this.passengers);
+            if (EventLog.isEnabled(EventLog.Level.INFO)) {
+                EventLog.info(this.name, "Passengers" + this.passengers);
+            }
             try {
-                // Starts moving
-                this.ready = false;
-                this.moving = true;
                 // Ride
-                System.out.println("Ride started.");
-                this.totalRides++;
-                TimeUnit.SECONDS.sleep((new Random()).nextInt(4) + 1);
+                EventLog.info(this.name, "Ride started.");
+                int passengers;
+                int ride;
+                synchronized (this) {
+                    // Starts moving
+                    this.ready = false;
+                    this.moving = true;
+                    ride = ++this.totalRides;
+                    passengers = this.passengers.size();
+                }
+                Transitions.record(JournalEvent.RIDE_START, this.id, 0, ride);
+                // Wake the line if it was the last ride of the day
+                if (!this.isInOperation()) {
+                    this.line.carChanged();
+                }
+                long start = System.nanoTime();
+                this.rideTimeUnit.sleep(this.random.nextInt(4) + 1);
+                Metrics.recordRide(System.nanoTime() - start, passengers,
+                        this.capacity);
                 // Stops moving
-                this.moving = false;
-                System.out.println("Ride ended.");
+                synchronized (this) {
+                    this.moving = false;
+                }
+                EventLog.info(this.name, "Ride ended.");
+                Transitions.record(JournalEvent.RIDE_END, this.id, 0, ride);
             } catch (InterruptedException ex) {
                 Logger.getLogger(RollerCoasterCar.class.getName())
                         .log(Level.SEVERE, null, ex);
@@ -331,8 +463,8 @@ public class RollerCoasterCar {
 
     @Override
     public String toString() {
-        return "RollerCoasterCar{" + "Max number of rides per day = "
-                + this.maxNumberOfRides + ", Capacity of the car = "
-                + this.capacity + '}';
+        return "RollerCoasterCar{" + "ID = " + this.id
+                + ", Max number of rides per day = " + this.maxNumberOfRides
+                + ", Capacity of the car = " + this.capacity + '}';
     }
 }
@@ -0,0 +1,297 @@
+/*
+ * GNU License.
+ */
+package rollercoastermonitor.rollercoaster;
+
+import java.util.Set;
+import java.util.Map;
+import java.util.List;
+import java.util.Deque;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import rollercoastercore.log.EventLog;
+import rollercoastercore.rollercoaster.Passenger;
+import rollercoastercore.rollercoaster.LineController;
+
+/**
+ * This class represents the Roller Coaster line. The line is shared by all
+ * cars of the fleet and dispatches the next passenger in line to whichever
+ * car is loading.
+ *
+ * Each passenger waits on its own turn monitor instead of the line monitor,
+ * so only the passengers that can board are notified: the next in line when
+ * a car opens boarding, and every passenger of a carload seated at once by a
+ * batch load. A waiting passenger holds its turn monitor before the line
+ * monitor; a turn is only notified after releasing the line monitor.
+ *
+ * The line monitor is always acquired before a car monitor, never after.
+ *
+ * @author Patricia & Breno
+ */
+public class RollerCoasterLine implements LineController {
+
+    /**
+     * Monitor a passenger waits on for its turn.
+     */
+    private static final class Turn {
+
+        // The passenger was notified
+        private boolean notified;
+    }
+
+    // Cars served by the line
+    private final List<RollerCoasterCar> cars;
+    // Passenger queue
+    private final Deque<Passenger> queue;
+    // Passengers in line (index of the queue)
+    private final Set<Passenger> line;
+    // Monitor each passenger waits on for its turn
+    private final Map<Passenger, Turn> turns;
+    // Passengers seated by a batch load (and their car)
+    private final Map<Passenger, RollerCoasterCar> seated;
+
+    /**
+     * Constructor.
+     */
+    public RollerCoasterLine() {
+        this.cars = new ArrayList<>();
+        this.queue = new ArrayDeque<>();
+        this.line = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.turns = new IdentityHashMap<>();
+        this.seated = new IdentityHashMap<>();
+    }
+
+    /**
+     * Add a car to be served by the line.
+     *
+     * @param car The car
+     */
+    public synchronized void addCar(RollerCoasterCar car) {
+        this.cars.add(car);
+    }
+
+    /**
+     * Add passenger to queue.
+     *
+     * @param passenger The passenger
+     */
+    @Override
+    public synchronized void addPassengerToQueue(Passenger passenger) {
+        if (this.line.add(passenger)) {
+            this.queue.add(passenger);
+            this.turns.computeIfAbsent(passenger, (p) -> new Turn());
+            EventLog.debug(passenger, "is in line.");
+        }
+    }
+
+    /**
+     * Remove passenger from the queue.
+     *
+     * @param passenger The passenger
+     */
+    @Override
+    public void removePassengerFromTheQueue(Passenger passenger) {
+        Turn next;
+        synchronized (this) {
+            // Check if the passenger is the next
+            if (passenger != this.nextPassenger()) {
+                return;
+            }
+            this.line.remove(this.queue.remove());
+            next = this.turns.get(this.queue.peek());
+        }
+        // Wake the new next passenger
+        wake(next);
+    }
+
+    /**
+     * Get true if the passenger is in line and false otherwise.
+     *
+     * @param passenger The passenger
+     *
+     * @return True if the passenger is in line false otherwise
+     */
+    @Override
+    public synchronized boolean isInLine(Passenger passenger) {
+        return this.line.contains(passenger);
+    }
+
+    /**
+     * Get true if the line is empty and false otherwise.
+     *
+     * @return True if the line is empty and false otherwise
+     */
+    @Override
+    public synchronized boolean lineIsEmpty() {
+        return this.queue.isEmpty();
+    }
+
+    /**
+     * Get the next passenger to board in a car.
+     *
+     * @return The next passenger to board in a car
+     */
+    @Override
+    public synchronized Passenger nextPassenger() {
+        return this.queue.peek();
+    }
+
+    /**
+     * Get true if any car of the line is in operation and false otherwise.
+     *
+     * @return True if any car of the line is in operation and false otherwise
+     */
+    @Override
+    public synchronized boolean isInOperation() {
+        return this.cars.stream().anyMatch(RollerCoasterCar::isInOperation);
+    }
+
+    /**
+     * Get the car that is loading passengers. When several cars are loading,
+     * the one that opened boarding first is filled first, so the passengers
+     * already on board are not left waiting for a car that opened later.
+     *
+     * @return The car that is loading passengers or null if there is none
+     */
+    private RollerCoasterCar loadingCar() {
+        RollerCoasterCar loading = null;
+        for (RollerCoasterCar car : this.cars) {
+            if (car.isAllowBoarding() && (loading == null
+                    || car.getLoadTime() - loading.getLoadTime() < 0)) {
+                loading = car;
+            }
+        }
+        return loading;
+    }
+
+    /**
+     * Wait for the turn of the passenger and board the car that is loading.
+     * The passenger waits until it is the next in line and a car is loading,
+     * until a batch load seats it, or until every car closes.
+     *
+     * @param passenger The passenger
+     *
+     * @return The car the passenger boarded or null if every car closed
+     */
+    @Override
+    public RollerCoasterCar awaitBoarding(Passenger passenger) {
+        Turn turn;
+        synchronized (this) {
+            turn = this.turns.computeIfAbsent(passenger, (p) -> new Turn());
+        }
+        RollerCoasterCar car;
+        Turn next = null;
+        try {
+            synchronized (turn) {
+                while (true) {
+                    synchronized (this) {
+                        // Check if a batch load seated the passenger
+                        car = this.seated.remove(passenger);
+                        if (car != null) {
+                            break;
+                        }
+                        car = this.loadingCar();
+                        // Check if it is the turn of the passenger
+                        if (car != null && passenger == this.queue.peek()
+                                && car.addPassenger(passenger)) {
+                            // Get out of the queue
+                            this.line.remove(this.queue.remove());
+                            next = this.turns.get(this.queue.peek());
+                            break;
+                        }
+                        // Check if every car closed
+                        if (!this.isInOperation()) {
+                            return null;
+                        }
+                    }
+                    while (!turn.notified) {
+                        turn.wait();
+                    }
+                    turn.notified = false;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Logger.getLogger(RollerCoasterLine.class.getName())
+                    .log(Level.SEVERE, null, ex);
+            return null;
+        }
+        // Wake the new next passenger
+        wake(next);
+        return car;
+    }
+
+    /**
+     * Open boarding of a car and seat a carload from the head of the line at
+     * once. Only the seated passengers are notified; seats left when the line
+     * is short are taken one passenger at a time. Must not be called while
+     * holding a car monitor.
+     *
+     * @param car The car
+     */
+    public void boardBatch(RollerCoasterCar car) {
+        List<Turn> notified = new ArrayList<>();
+        synchronized (this) {
+            car.openBoarding();
+            // Take a carload from the head of the line
+            int seats = car.getFreeSeats();
+            List<Passenger> batch = new ArrayList<>(seats);
+            while (batch.size() < seats && !this.queue.isEmpty()) {
+                Passenger passenger = this.queue.remove();
+                this.line.remove(passenger);
+                batch.add(passenger);
+            }
+            // Passengers the car did not take go back to the head of the
+            // queue
+            int boarded = car.addPassengers(batch);
+            while (batch.size() > boarded) {
+                Passenger passenger = batch.remove(batch.size() - 1);
+                this.queue.addFirst(passenger);
+                this.line.add(passenger);
+            }
+            for (Passenger passenger : batch) {
+                this.seated.put(passenger, car);
+                notified.add(this.turns.get(passenger));
+            }
+            // The new next passenger (another car may still be loading)
+            notified.add(this.turns.get(this.queue.peek()));
+        }
+        // Wake only the seated passengers and the new next passenger
+        notified.forEach(RollerCoasterLine::wake);
+    }
+
+    /**
+     * Wake the line after a car opened boarding or closed: the next passenger
+     * while any car is in operation and every passenger in line otherwise.
+     * Must not be called while holding a car monitor.
+     */
+    public void carChanged() {
+        List<Turn> notified = new ArrayList<>();
+        synchronized (this) {
+            if (this.isInOperation()) {
+                notified.add(this.turns.get(this.queue.peek()));
+            } else {
+                this.queue.forEach((p) -> notified.add(this.turns.get(p)));
+            }
+        }
+        notified.forEach(RollerCoasterLine::wake);
+    }
+
+    /**
+     * Notify a passenger waiting for its turn. Must not be called while
+     * holding the line monitor.
+     *
+     * @param turn Turn of the passenger (none if null)
+     */
+    private static void wake(Turn turn) {
+        if (turn != null) {
+            synchronized (turn) {
+                turn.notified = true;
+                turn.notify();
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+#!/bin/bash
+cd src
+# Compile
+javac rollercoastersimulation/*.java rollercoastersimulation/engine/*.java
+# Generate jar
+jar cfm ../RollerCoasterSimulation.jar ../manifest.mf rollercoastersimulation/*.class rollercoastersimulation/engine/*.class
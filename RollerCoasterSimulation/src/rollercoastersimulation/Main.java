@@ -0,0 +1,106 @@
+/*
+ * GNU License.
+ */
+package rollercoastersimulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
+import rollercoastersimulation.engine.Summary;
+import rollercoastersimulation.engine.MonteCarlo;
+import rollercoastersimulation.engine.Simulation;
+import rollercoastersimulation.engine.Statistics;
+
+/**
+ * This is the main class of the Roller Coaster discrete-event simulation.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class Main {
+
+    /**
+     * @param args the command line arguments (--passengers=n, --cars=N,
+     * --rides=P, --capacity=C, --seed=s to make the run reproducible,
+     * --trace to print every operation, --days=D to run D days in parallel
+     * and merge their statistics and --parallelism=T to run them on T
+     * threads)
+     */
+    public static void main(String[] args) {
+        // Root seed of the random streams (chosen at random if missing)
+        long seed = Long.parseLong(option(args, "seed",
+                String.valueOf(new SplittableRandom().nextLong())));
+        // Number of cars
+        int numberOfCars = Integer.parseInt(option(args, "cars", "1"));
+        // Maximum Number of Rides of each car
+        int maxNumberOfRides = Integer.parseInt(option(args, "rides", "4"));
+        // Capacity of each car
+        int capacity = Integer.parseInt(option(args, "capacity", "4"));
+        // Number of passengers (the crowd grows with the fleet)
+        int numberOfPassengers = Integer.parseInt(option(args, "passengers",
+                String.valueOf(numberOfCars * (new SplittableRandom(seed)
+                        .nextInt(10) + 15))));
+        // Check if there are more passengers than seats in a car
+        if (numberOfPassengers <= capacity) {
+            System.err.println("The number of passengers (" + numberOfPassengers
+                    + ") must be greater than the capacity of the car ("
+                    + capacity + ").");
+            System.exit(1);
+        }
+        // Number of days
+        int days = Integer.parseInt(option(args, "days", "1"));
+        if (days > 1) {
+            // Number of threads that run the days
+            int parallelism = Integer.parseInt(option(args, "parallelism",
+                    String.valueOf(Runtime.getRuntime()
+                            .availableProcessors())));
+            // Simulates the days
+            MonteCarlo monteCarlo = new MonteCarlo(days, numberOfPassengers,
+                    numberOfCars, maxNumberOfRides, capacity, seed);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            long start = System.nanoTime();
+            Summary summary = monteCarlo.run(pool);
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+            System.out.println("Seed = " + seed);
+            System.out.println(summary);
+            System.out.println("Simulated " + days + " days in "
+                    + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms.");
+            return;
+        }
+        // Print every operation
+        boolean trace = option(args, "trace", null) != null;
+        // Simulates a day
+        Simulation simulation = new Simulation(numberOfPassengers,
+                numberOfCars, maxNumberOfRides, capacity, seed, trace);
+        long start = System.nanoTime();
+        Statistics statistics = simulation.run();
+        long elapsed = System.nanoTime() - start;
+        System.out.println("Seed = " + seed);
+        System.out.println(statistics);
+        System.out.println("Simulated in "
+                + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms.");
+    }
+
+    /**
+     * Get the value of a command line option written as --name=value. An
+     * option written as --name has an empty value.
+     *
+     * @param args the command line arguments
+     * @param name Option name
+     * @param value Default value
+     *
+     * @return Option value or the default value if the option is missing
+     */
+    private static String option(String[] args, String name, String value) {
+        for (String arg : args) {
+            if (arg.equals("--" + name)) {
+                return "";
+            }
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * GNU License.
+ */
+package rollercoastersimulation.engine;
+
+/**
+ * This class represents a car event of the simulation. Events are ordered by
+ * their virtual time and, for the same time, by the order they were
+ * scheduled.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class Event implements Comparable<Event> {
+
+    /**
+     * Event types.
+     */
+    public enum Type {
+        // A car ends its ride
+        RIDE_END
+    }
+
+    // Virtual time (milliseconds)
+    private final long time;
+    // Scheduling order
+    private final long sequence;
+    // Event type
+    private final Type type;
+    // Car ID
+    private final int id;
+
+    /**
+     * Constructor.
+     *
+     * @param time Virtual time (milliseconds)
+     * @param sequence Scheduling order
+     * @param type Event type
+     * @param id Car ID
+     */
+    public Event(long time, long sequence, Type type, int id) {
+        this.time = time;
+        this.sequence = sequence;
+        this.type = type;
+        this.id = id;
+    }
+
+    /**
+     * Get the virtual time of the event.
+     *
+     * @return Virtual time (milliseconds)
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    /**
+     * Get the event type.
+     *
+     * @return Event type
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Get the passenger or car ID.
+     *
+     * @return Car ID
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    @Override
+    public int compareTo(Event other) {
+        if (this.time != other.time) {
+            return Long.compare(this.time, other.time);
+        }
+        return Long.compare(this.sequence, other.sequence);
+    }
+}
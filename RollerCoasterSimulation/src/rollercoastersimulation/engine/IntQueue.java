@@ -0,0 +1,82 @@
+/*
+ * GNU License.
+ */
+package rollercoastersimulation.engine;
+
+/**
+ * First-in, first-out queue of passenger IDs in a fixed ring buffer, without
+ * boxing an object per passenger.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+final class IntQueue {
+
+    // Passenger IDs
+    private final int[] items;
+    // Index of the first ID
+    private int head;
+    // Number of IDs
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity Largest number of IDs
+     */
+    IntQueue(int capacity) {
+        this.items = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Add an ID to the end of the queue.
+     *
+     * @param id Passenger ID
+     */
+    void add(int id) {
+        if (this.size == this.items.length) {
+            throw new IllegalStateException("Queue full");
+        }
+        int tail = this.head + this.size;
+        if (tail >= this.items.length) {
+            tail -= this.items.length;
+        }
+        this.items[tail] = id;
+        this.size++;
+    }
+
+    /**
+     * Remove the first ID of the queue.
+     *
+     * @return The first ID
+     */
+    int poll() {
+        if (this.size == 0) {
+            throw new IllegalStateException("Queue empty");
+        }
+        int id = this.items[this.head];
+        if (++this.head == this.items.length) {
+            this.head = 0;
+        }
+        this.size--;
+        return id;
+    }
+
+    /**
+     * Get true if the queue is empty and false otherwise.
+     *
+     * @return True if the queue is empty and false otherwise
+     */
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Get the number of bytes of the queue.
+     *
+     * @return Number of bytes of the queue
+     */
+    long getBytes() {
+        return 4L * this.items.length;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * GNU License.
+ */
+package rollercoastersimulation.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs many independent days of the simulation in parallel on a fork-join
+ * pool and merges their statistics.
+ *
+ * Each day is a simulation of its own, with its own seed derived from the
+ * root seed and the number of the day, so a day gives the same statistics
+ * whatever thread runs it. The days are split in halves until one is left;
+ * each day is summarized as soon as it ends and the summaries are merged on
+ * the way back, so only one day per worker is in memory at once.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class MonteCarlo {
+
+    // Number of days
+    private final int days;
+    // Number of passengers
+    private final int numberOfPassengers;
+    // Number of cars
+    private final int numberOfCars;
+    // Maximum Number of Rides of each car
+    private final int maxNumberOfRides;
+    // Capacity of each car
+    private final int capacity;
+    // Root seed of the days
+    private final long seed;
+
+    /**
+     * Constructor.
+     *
+     * @param days Number of days
+     * @param numberOfPassengers Number of passengers
+     * @param numberOfCars Number of cars
+     * @param maxNumberOfRides Maximum number of rides of each car
+     * @param capacity Capacity of each car
+     * @param seed Root seed of the days
+     */
+    public MonteCarlo(int days, int numberOfPassengers, int numberOfCars,
+            int maxNumberOfRides, int capacity, long seed) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Invalid number of days: "
+                    + days);
+        }
+        this.days = days;
+        this.numberOfPassengers = numberOfPassengers;
+        this.numberOfCars = numberOfCars;
+        this.maxNumberOfRides = maxNumberOfRides;
+        this.capacity = capacity;
+        this.seed = seed;
+    }
+
+    /**
+     * Run every day.
+     *
+     * @param pool Pool that runs the days
+     *
+     * @return Statistics of every day
+     */
+    public Summary run(ForkJoinPool pool) {
+        return pool.invoke(new Days(0, this.days));
+    }
+
+    /**
+     * Get the seed of a day (SplitMix64 over the root seed and the number of
+     * the day), so the random streams of two days do not overlap.
+     *
+     * @param day Number of the day
+     *
+     * @return Seed of the day
+     */
+    public long seed(int day) {
+        long z = this.seed + (day + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Task that runs a range of days.
+     */
+    private class Days extends RecursiveTask<Summary> {
+
+        // Serialization version
+        private static final long serialVersionUID = 1L;
+
+        // First day of the range
+        private final int from;
+        // Day after the last day of the range
+        private final int to;
+
+        /**
+         * Constructor.
+         *
+         * @param from First day of the range
+         * @param to Day after the last day of the range
+         */
+        Days(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (this.to - this.from == 1) {
+                Simulation simulation = new Simulation(
+                        MonteCarlo.this.numberOfPassengers,
+                        MonteCarlo.this.numberOfCars,
+                        MonteCarlo.this.maxNumberOfRides,
+                        MonteCarlo.this.capacity,
+                        MonteCarlo.this.seed(this.from), false);
+                return new Summary().add(simulation.run());
+            }
+            int middle = (this.from + this.to) >>> 1;
+            Days left = new Days(this.from, middle);
+            left.fork();
+            Summary right = new Days(middle, this.to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
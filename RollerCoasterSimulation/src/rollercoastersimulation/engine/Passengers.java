@@ -0,0 +1,233 @@
+/*
+ * GNU License.
+ */
+package rollercoastersimulation.engine;
+
+/**
+ * Compact store of every passenger of the simulation. Each field is a
+ * primitive array indexed by passenger ID, so a passenger costs a few bytes
+ * instead of an object with its header and references, and a crowd of
+ * millions fits in a few hundred megabytes.
+ *
+ * The walking passengers are kept in a binary heap of IDs ordered by the end
+ * of their walk (then by ID), which replaces one scheduled event per walk.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public final class Passengers {
+
+    /**
+     * Passenger states.
+     */
+    public enum State {
+        // Walking in the park (or on the way to the roller coaster)
+        WALKING,
+        // Waiting in line
+        IN_LINE,
+        // On board of a car
+        ON_BOARD,
+        // Left the park
+        LEFT
+    }
+
+    // Passenger states (by ID)
+    private static final State[] STATES = State.values();
+
+    // Number of passengers
+    private final int size;
+    // State of each passenger (ordinal)
+    private final byte[] state;
+    // Number of rides of each passenger
+    private final int[] rides;
+    // Time each passenger joined the line (milliseconds)
+    private final long[] joinTime;
+    // Time each passenger ends its walk (milliseconds)
+    private final long[] walkDeadline;
+    // Walking passengers (heap of IDs ordered by walk deadline)
+    private final int[] walking;
+    private int walkingSize;
+
+    /**
+     * Constructor. Passenger IDs go from 1 to the number of passengers.
+     *
+     * @param size Number of passengers
+     */
+    public Passengers(int size) {
+        this.size = size;
+        this.state = new byte[size + 1];
+        this.rides = new int[size + 1];
+        this.joinTime = new long[size + 1];
+        this.walkDeadline = new long[size + 1];
+        this.walking = new int[size];
+    }
+
+    /**
+     * Get the number of passengers.
+     *
+     * @return Number of passengers
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the state of a passenger.
+     *
+     * @param passenger Passenger ID
+     *
+     * @return State of the passenger
+     */
+    public State getState(int passenger) {
+        return STATES[this.state[passenger]];
+    }
+
+    /**
+     * Get the number of rides of a passenger.
+     *
+     * @param passenger Passenger ID
+     *
+     * @return Number of rides of the passenger
+     */
+    public int getRides(int passenger) {
+        return this.rides[passenger];
+    }
+
+    /**
+     * Get the time a passenger joined the line.
+     *
+     * @param passenger Passenger ID
+     *
+     * @return Time the passenger joined the line (milliseconds)
+     */
+    public long getJoinTime(int passenger) {
+        return this.joinTime[passenger];
+    }
+
+    /**
+     * Get the number of bytes the store takes per passenger.
+     *
+     * @return Bytes per passenger
+     */
+    public double getBytesPerPassenger() {
+        long bytes = this.state.length + 4L * this.rides.length
+                + 8L * this.joinTime.length + 8L * this.walkDeadline.length
+                + 4L * this.walking.length;
+        return this.size == 0 ? 0 : (double) bytes / this.size;
+    }
+
+    /**
+     * A passenger joins the line.
+     *
+     * @param passenger Passenger ID
+     * @param time Virtual time (milliseconds)
+     */
+    void join(int passenger, long time) {
+        this.state[passenger] = (byte) State.IN_LINE.ordinal();
+        this.joinTime[passenger] = time;
+    }
+
+    /**
+     * A passenger boards a car.
+     *
+     * @param passenger Passenger ID
+     */
+    void board(int passenger) {
+        this.state[passenger] = (byte) State.ON_BOARD.ordinal();
+        this.rides[passenger]++;
+    }
+
+    /**
+     * A passenger leaves the park.
+     *
+     * @param passenger Passenger ID
+     */
+    void leave(int passenger) {
+        this.state[passenger] = (byte) State.LEFT.ordinal();
+    }
+
+    /**
+     * A passenger walks in the park until a deadline.
+     *
+     * @param passenger Passenger ID
+     * @param deadline Time the walk ends (milliseconds)
+     */
+    void walk(int passenger, long deadline) {
+        this.state[passenger] = (byte) State.WALKING.ordinal();
+        this.walkDeadline[passenger] = deadline;
+        // Sift up
+        int i = this.walkingSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!this.before(passenger, this.walking[parent])) {
+                break;
+            }
+            this.walking[i] = this.walking[parent];
+            i = parent;
+        }
+        this.walking[i] = passenger;
+    }
+
+    /**
+     * Get true if any passenger is walking and false otherwise.
+     *
+     * @return True if any passenger is walking and false otherwise
+     */
+    boolean hasWalking() {
+        return this.walkingSize > 0;
+    }
+
+    /**
+     * Get the time the next walk ends.
+     *
+     * @return Time the next walk ends (milliseconds)
+     */
+    long nextWalkEnd() {
+        return this.walkDeadline[this.walking[0]];
+    }
+
+    /**
+     * End the next walk.
+     *
+     * @return ID of the passenger whose walk ended
+     */
+    int endWalk() {
+        int first = this.walking[0];
+        int last = this.walking[--this.walkingSize];
+        // Sift down
+        int i = 0;
+        int half = this.walkingSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < this.walkingSize
+                    && this.before(this.walking[right], this.walking[child])) {
+                child = right;
+            }
+            if (!this.before(this.walking[child], last)) {
+                break;
+            }
+            this.walking[i] = this.walking[child];
+            i = child;
+        }
+        if (this.walkingSize > 0) {
+            this.walking[i] = last;
+        }
+        return first;
+    }
+
+    /**
+     * Get true if the walk of a passenger ends before the walk of another.
+     *
+     * @param a Passenger ID
+     * @param b Passenger ID
+     *
+     * @return True if the walk of a ends first (or at the same time and a has
+     * the lower ID) and false otherwise
+     */
+    private boolean before(int a, int b) {
+        long da = this.walkDeadline[a];
+        long db = this.walkDeadline[b];
+        return da < db || (da == db && a < b);
+    }
+}
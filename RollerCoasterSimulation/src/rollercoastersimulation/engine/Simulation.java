@@ -0,0 +1,330 @@
+/*
+ * GNU License.
+ */
+package rollercoastersimulation.engine;
+
+import java.util.PriorityQueue;
+
+/**
+ * Discrete-event simulation of a roller coaster day. It models the same car
+ * and passenger state machine as the threaded versions, but time is a virtual
+ * clock driven by a priority queue of events, so nothing ever sleeps.
+ *
+ * Boarding, unboarding and the start of a ride take no time: they happen
+ * while handling the event that made them possible. Only the rides are
+ * scheduled as events; the walks in the park are kept by the passenger store,
+ * ordered by their end. A walk that ends at the same time as a ride is handled
+ * first.
+ *
+ * Passengers are plain IDs: their state lives in a struct-of-arrays store and
+ * the line is a ring buffer of IDs, so the memory per passenger stays a few
+ * dozen bytes even for crowds of millions.
+ *
+ * Every car and passenger draws its ride and walk durations from its own
+ * random stream, derived from one seed by hashing the entity and the number
+ * of the draw. So the same seed gives the same durations, whatever the order
+ * of the events, and no generator is kept per passenger.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class Simulation {
+
+    /**
+     * Car states.
+     */
+    private enum State {
+        // Allows boarding
+        LOADING,
+        // Moving on the track
+        MOVING,
+        // Turned off for the day
+        CLOSED
+    }
+
+    // Number of passengers
+    private final int numberOfPassengers;
+    // Maximum Number of Rides of each car
+    private final int maxNumberOfRides;
+    // Capacity of each car
+    private final int capacity;
+    // Print every operation
+    private final boolean trace;
+
+    // Virtual clock (milliseconds)
+    private long clock;
+    // Number of scheduled events
+    private long sequence;
+    // Pending car events
+    private final PriorityQueue<Event> events;
+    // Passengers (state, rides, join time and walk deadline)
+    private final Passengers passengers;
+    // Passenger queue (passenger IDs)
+    private final IntQueue queue;
+    // Car state
+    private final State[] state;
+    // Total number of rides of each car
+    private final int[] totalRides;
+    // Passengers on board of each car
+    private final int[][] seats;
+    private final int[] seated;
+    // Time each car last allowed boarding
+    private final long[] loadTime;
+    // Root seed of the random streams
+    private final long seed;
+    // Statistics
+    private final Statistics statistics;
+
+    /**
+     * Constructor.
+     *
+     * @param numberOfPassengers Number of passengers
+     * @param numberOfCars Number of cars
+     * @param maxNumberOfRides Maximum number of rides of each car
+     * @param capacity Capacity of each car
+     * @param seed Root seed of the random streams
+     * @param trace Print every operation
+     */
+    public Simulation(int numberOfPassengers, int numberOfCars,
+            int maxNumberOfRides, int capacity, long seed, boolean trace) {
+        this.numberOfPassengers = numberOfPassengers;
+        this.maxNumberOfRides = maxNumberOfRides;
+        this.capacity = capacity;
+        this.trace = trace;
+        this.events = new PriorityQueue<>();
+        this.passengers = new Passengers(numberOfPassengers);
+        this.queue = new IntQueue(numberOfPassengers);
+        this.state = new State[numberOfCars + 1];
+        this.totalRides = new int[numberOfCars + 1];
+        this.seats = new int[numberOfCars + 1][capacity];
+        this.seated = new int[numberOfCars + 1];
+        this.loadTime = new long[numberOfCars + 1];
+        this.seed = seed;
+        this.statistics = new Statistics(this.passengers);
+    }
+
+    /**
+     * Run a day of the roller coaster.
+     *
+     * @return Statistics of the day
+     */
+    public Statistics run() {
+        // Every passenger gets to the roller coaster at the opening
+        for (int p = 1; p <= this.numberOfPassengers; p++) {
+            this.passengers.walk(p, 0);
+        }
+        // Every car starts loading
+        for (int car = 1; car < this.state.length; car++) {
+            this.load(car);
+        }
+        // Run the walks and the events in time order
+        while (this.passengers.hasWalking() || !this.events.isEmpty()) {
+            if (this.passengers.hasWalking() && (this.events.isEmpty()
+                    || this.passengers.nextWalkEnd()
+                    <= this.events.peek().getTime())) {
+                this.clock = this.passengers.nextWalkEnd();
+                this.arrive(this.passengers.endWalk());
+            } else {
+                Event event = this.events.poll();
+                this.clock = event.getTime();
+                this.endRide(event.getId());
+            }
+            this.dispatch();
+        }
+        this.statistics.endDay(this.clock, this.bytesPerPassenger());
+        return this.statistics;
+    }
+
+    /**
+     * Schedule an event.
+     *
+     * @param time Virtual time of the event
+     * @param type Event type
+     * @param id Car ID
+     */
+    private void schedule(long time, Event.Type type, int id) {
+        this.events.add(new Event(time, this.sequence++, type, id));
+    }
+
+    /**
+     * Get the memory of the passenger store and the line per passenger.
+     *
+     * @return Bytes per passenger
+     */
+    private double bytesPerPassenger() {
+        if (this.numberOfPassengers == 0) {
+            return 0;
+        }
+        return this.passengers.getBytesPerPassenger()
+                + (double) this.queue.getBytes() / this.numberOfPassengers;
+    }
+
+    /**
+     * Get true if any car is in operation and false otherwise.
+     *
+     * @return True if any car is in operation and false otherwise
+     */
+    private boolean isInOperation() {
+        for (int car = 1; car < this.state.length; car++) {
+            if (this.totalRides[car] < this.maxNumberOfRides) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A passenger gets back to the roller coaster and joins the line, or
+     * leaves if every car closed.
+     *
+     * @param passenger Passenger ID
+     */
+    private void arrive(int passenger) {
+        if (!this.isInOperation()) {
+            this.passengers.leave(passenger);
+            this.print("Passenger ", passenger, " is leaving.");
+            return;
+        }
+        this.queue.add(passenger);
+        this.passengers.join(passenger, this.clock);
+        this.print("Passenger ", passenger, " is in line.");
+    }
+
+    /**
+     * Allow passengers to board a car.
+     *
+     * @param car Car ID
+     */
+    private void load(int car) {
+        this.state[car] = State.LOADING;
+        this.loadTime[car] = this.clock;
+        this.print("Car ", car, ": Boarding...");
+    }
+
+    /**
+     * Board the next passengers in line on the car that is loading. Cars are
+     * filled in order, as in the threaded versions.
+     */
+    private void dispatch() {
+        int car = 1;
+        while (!this.queue.isEmpty() && car < this.state.length) {
+            if (this.state[car] != State.LOADING) {
+                car++;
+                continue;
+            }
+            int passenger = this.queue.poll();
+            // Check if it is the first boarding since the last load
+            if (this.seated[car] == 0) {
+                this.statistics.firstBoarding(this.clock - this.loadTime[car]);
+            }
+            this.seats[car][this.seated[car]++] = passenger;
+            this.passengers.board(passenger);
+            this.statistics.board(this.clock
+                    - this.passengers.getJoinTime(passenger));
+            this.print(car, passenger, " is on board.");
+            // Check if the car is full
+            if (this.seated[car] == this.capacity) {
+                this.startRide(car);
+            }
+        }
+        // Passengers still in line leave once every car closed
+        if (!this.isInOperation()) {
+            while (!this.queue.isEmpty()) {
+                int passenger = this.queue.poll();
+                this.passengers.leave(passenger);
+                this.print("Passenger ", passenger, " is leaving.");
+            }
+        }
+    }
+
+    /**
+     * Start the ride of a full car.
+     *
+     * @param car Car ID
+     */
+    private void startRide(int car) {
+        this.state[car] = State.MOVING;
+        this.totalRides[car]++;
+        this.statistics.ride();
+        this.print("Car ", car, ": Ride started.");
+        this.schedule(this.clock
+                + (this.draw(-car, this.totalRides[car], 4) + 1) * 1000L,
+                Event.Type.RIDE_END, car);
+    }
+
+    /**
+     * End the ride of a car, unload its passengers and load it again or close
+     * it.
+     *
+     * @param car Car ID
+     */
+    private void endRide(int car) {
+        this.print("Car ", car, ": Ride ended.");
+        this.print("Car ", car, ": Unboarding...");
+        // Every passenger disembarks and walks in the park
+        for (int i = 0; i < this.seated[car]; i++) {
+            int passenger = this.seats[car][i];
+            this.print(car, passenger, " disembarked.");
+            this.print("Passenger ", passenger, " is walking.");
+            this.passengers.walk(passenger, this.clock + (this.draw(passenger,
+                    this.passengers.getRides(passenger), 5) + 1) * 1000L);
+        }
+        this.seated[car] = 0;
+        // Check if the car is still in operation
+        if (this.totalRides[car] < this.maxNumberOfRides) {
+            this.load(car);
+        } else {
+            this.state[car] = State.CLOSED;
+            this.print("Car ", car, " closed.");
+        }
+    }
+
+    /**
+     * Draw a number from the random stream of an entity (SplitMix64 over the
+     * seed, the entity and the number of the draw).
+     *
+     * @param entity Passenger ID, or minus the car ID
+     * @param index Number of the draw in the stream of the entity
+     * @param bound Upper bound (exclusive)
+     *
+     * @return A number from 0 to the bound (exclusive)
+     */
+    private int draw(int entity, int index, int bound) {
+        long z = this.seed + entity * 0x9E3779B97F4A7C15L
+                + index * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) (((z >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Print an operation of a car or a passenger with its virtual time, if
+     * tracing. The message is only built when tracing.
+     *
+     * @param entity Kind of entity ("Car " or "Passenger ")
+     * @param id Car or passenger ID
+     * @param operation Operation (printed after the ID)
+     */
+    private void print(String entity, int id, String operation) {
+        if (this.trace) {
+            System.out.println("[" + this.clock + " ms] " + entity + id
+                    + operation);
+        }
+    }
+
+    /**
+     * Print an operation of a passenger on a car with its virtual time, if
+     * tracing. The message is only built when tracing.
+     *
+     * @param car Car ID
+     * @param passenger Passenger ID
+     * @param operation Operation (printed after the passenger ID)
+     */
+    private void print(int car, int passenger, String operation) {
+        if (this.trace) {
+            System.out.println("[" + this.clock + " ms] Car " + car
+                    + ": Passenger " + passenger + operation);
+        }
+    }
+}
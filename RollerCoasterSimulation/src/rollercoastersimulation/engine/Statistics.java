@@ -0,0 +1,200 @@
+/*
+ * GNU License.
+ */
+package rollercoastersimulation.engine;
+
+/**
+ * This class holds the ride and boarding statistics of a simulated day.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class Statistics {
+
+    // Total number of rides
+    private long rides;
+    // Total number of boardings
+    private long boardings;
+    // Total and maximum time between joining the line and boarding
+    private long totalWait;
+    private long maxWait;
+    // Distribution of the time between joining the line and boarding
+    private final WaitHistogram waits;
+    // Total number of loads and total time between a load and its first
+    // boarding
+    private long loads;
+    private long totalBoardingLatency;
+    // Passengers (rides of each passenger)
+    private final Passengers passengers;
+    // Length of the day (virtual milliseconds)
+    private long dayLength;
+    // Memory of the passenger store and the line per passenger (bytes)
+    private double bytesPerPassenger;
+
+    /**
+     * Constructor.
+     *
+     * @param passengers Passengers of the simulation
+     */
+    public Statistics(Passengers passengers) {
+        this.passengers = passengers;
+        this.waits = new WaitHistogram();
+    }
+
+    /**
+     * Record a ride.
+     */
+    void ride() {
+        this.rides++;
+    }
+
+    /**
+     * Record a boarding.
+     *
+     * @param wait Time between joining the line and boarding
+     */
+    void board(long wait) {
+        this.boardings++;
+        this.totalWait += wait;
+        this.maxWait = Math.max(this.maxWait, wait);
+        this.waits.record(wait);
+    }
+
+    /**
+     * Record the first boarding of a load.
+     *
+     * @param latency Time between the load and its first boarding
+     */
+    void firstBoarding(long latency) {
+        this.loads++;
+        this.totalBoardingLatency += latency;
+    }
+
+    /**
+     * Record the end of the day.
+     *
+     * @param time Virtual time of the last event
+     * @param bytesPerPassenger Memory of the passengers per passenger
+     */
+    void endDay(long time, double bytesPerPassenger) {
+        this.dayLength = time;
+        this.bytesPerPassenger = bytesPerPassenger;
+    }
+
+    /**
+     * Get the total number of rides.
+     *
+     * @return Total number of rides
+     */
+    public long getRides() {
+        return this.rides;
+    }
+
+    /**
+     * Get the total number of boardings.
+     *
+     * @return Total number of boardings
+     */
+    public long getBoardings() {
+        return this.boardings;
+    }
+
+    /**
+     * Get the mean time between joining the line and boarding.
+     *
+     * @return Mean queue wait (virtual milliseconds)
+     */
+    public double getMeanWait() {
+        return this.boardings == 0 ? 0 : (double) this.totalWait
+                / this.boardings;
+    }
+
+    /**
+     * Get the maximum time between joining the line and boarding.
+     *
+     * @return Maximum queue wait (virtual milliseconds)
+     */
+    public long getMaxWait() {
+        return this.maxWait;
+    }
+
+    /**
+     * Get the mean time between a load and its first boarding.
+     *
+     * @return Mean boarding latency (virtual milliseconds)
+     */
+    public double getMeanBoardingLatency() {
+        return this.loads == 0 ? 0 : (double) this.totalBoardingLatency
+                / this.loads;
+    }
+
+    /**
+     * Get the distribution of the time between joining the line and
+     * boarding.
+     *
+     * @return Distribution of the queue waits (virtual milliseconds)
+     */
+    WaitHistogram getWaits() {
+        return this.waits;
+    }
+
+    /**
+     * Get the number of passengers.
+     *
+     * @return Number of passengers
+     */
+    public int getNumberOfPassengers() {
+        return this.passengers.size();
+    }
+
+    /**
+     * Get the number of rides of a passenger.
+     *
+     * @param passenger Passenger ID
+     *
+     * @return Number of rides of the passenger
+     */
+    public int getRides(int passenger) {
+        return this.passengers.getRides(passenger);
+    }
+
+    /**
+     * Get the length of the day.
+     *
+     * @return Length of the day (virtual milliseconds)
+     */
+    public long getDayLength() {
+        return this.dayLength;
+    }
+
+    /**
+     * Get the memory of the passenger store and the line per passenger.
+     *
+     * @return Bytes per passenger
+     */
+    public double getBytesPerPassenger() {
+        return this.bytesPerPassenger;
+    }
+
+    @Override
+    public String toString() {
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int p = 1; p <= this.passengers.size(); p++) {
+            min = Math.min(min, this.passengers.getRides(p));
+            max = Math.max(max, this.passengers.getRides(p));
+        }
+        return "Statistics{" + "Rides = " + this.rides
+                + ", Boardings = " + this.boardings
+                + ", Rides per passenger = " + min + ".." + max
+                + ", Mean queue wait = "
+                + String.format("%.1f", this.getMeanWait()) + " ms"
+                + ", Max queue wait = " + this.maxWait + " ms"
+                + ", Mean first boarding after load = "
+                + String.format("%.1f", this.getMeanBoardingLatency()) + " ms"
+                + ", Day length = " + this.dayLength + " ms"
+                + ", Memory per passenger = "
+                + String.format("%.1f", this.bytesPerPassenger) + " bytes"
+                + '}';
+    }
+}
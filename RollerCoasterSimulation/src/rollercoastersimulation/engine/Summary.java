@@ -0,0 +1,261 @@
+/*
+ * GNU License.
+ */
+package rollercoastersimulation.engine;
+
+import java.util.Arrays;
+
+/**
+ * Statistics of many simulated days. Days are added one at a time and two
+ * summaries merge into one, so a summary only keeps sums, extremes and
+ * bucket counts: its size does not grow with the number of days or of
+ * passengers.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+public class Summary {
+
+    // Number of days
+    private long days;
+    // Sum, sum of squares and extremes of the rides of a day
+    private long rides;
+    private double ridesSquared;
+    private long minRides;
+    private long maxRides;
+    // Total number of boardings
+    private long boardings;
+    // Sum and sum of squares of the mean queue wait of a day
+    private double meanWait;
+    private double meanWaitSquared;
+    // Distribution of the queue waits of every boarding
+    private final WaitHistogram waits;
+    // Number of passengers that rode a given number of times
+    private long[] ridesPerPassenger;
+    // Sum and maximum of the length of a day
+    private long dayLength;
+    private long maxDayLength;
+
+    /**
+     * Constructor of an empty summary.
+     */
+    public Summary() {
+        this.minRides = Long.MAX_VALUE;
+        this.waits = new WaitHistogram();
+        this.ridesPerPassenger = new long[0];
+    }
+
+    /**
+     * Add the statistics of a day.
+     *
+     * @param day Statistics of a day
+     *
+     * @return This summary
+     */
+    public Summary add(Statistics day) {
+        this.days++;
+        this.rides += day.getRides();
+        this.ridesSquared += (double) day.getRides() * day.getRides();
+        this.minRides = Math.min(this.minRides, day.getRides());
+        this.maxRides = Math.max(this.maxRides, day.getRides());
+        this.boardings += day.getBoardings();
+        this.meanWait += day.getMeanWait();
+        this.meanWaitSquared += day.getMeanWait() * day.getMeanWait();
+        this.waits.merge(day.getWaits());
+        for (int p = 1; p <= day.getNumberOfPassengers(); p++) {
+            int rides = day.getRides(p);
+            if (rides >= this.ridesPerPassenger.length) {
+                this.ridesPerPassenger = Arrays.copyOf(this.ridesPerPassenger,
+                        rides + 1);
+            }
+            this.ridesPerPassenger[rides]++;
+        }
+        this.dayLength += day.getDayLength();
+        this.maxDayLength = Math.max(this.maxDayLength, day.getDayLength());
+        return this;
+    }
+
+    /**
+     * Add the days of another summary.
+     *
+     * @param other Another summary
+     *
+     * @return This summary
+     */
+    public Summary merge(Summary other) {
+        this.days += other.days;
+        this.rides += other.rides;
+        this.ridesSquared += other.ridesSquared;
+        this.minRides = Math.min(this.minRides, other.minRides);
+        this.maxRides = Math.max(this.maxRides, other.maxRides);
+        this.boardings += other.boardings;
+        this.meanWait += other.meanWait;
+        this.meanWaitSquared += other.meanWaitSquared;
+        this.waits.merge(other.waits);
+        if (other.ridesPerPassenger.length > this.ridesPerPassenger.length) {
+            this.ridesPerPassenger = Arrays.copyOf(this.ridesPerPassenger,
+                    other.ridesPerPassenger.length);
+        }
+        for (int i = 0; i < other.ridesPerPassenger.length; i++) {
+            this.ridesPerPassenger[i] += other.ridesPerPassenger[i];
+        }
+        this.dayLength += other.dayLength;
+        this.maxDayLength = Math.max(this.maxDayLength, other.maxDayLength);
+        return this;
+    }
+
+    /**
+     * Get the number of days.
+     *
+     * @return Number of days
+     */
+    public long getDays() {
+        return this.days;
+    }
+
+    /**
+     * Get the mean number of rides of a day.
+     *
+     * @return Mean number of rides of a day
+     */
+    public double getMeanRides() {
+        return this.days == 0 ? 0 : (double) this.rides / this.days;
+    }
+
+    /**
+     * Get the standard deviation of the number of rides of a day.
+     *
+     * @return Standard deviation of the rides of a day
+     */
+    public double getRidesDeviation() {
+        return deviation(this.days, this.rides, this.ridesSquared);
+    }
+
+    /**
+     * Get the total number of boardings.
+     *
+     * @return Total number of boardings
+     */
+    public long getBoardings() {
+        return this.boardings;
+    }
+
+    /**
+     * Get the mean of the mean queue wait of a day.
+     *
+     * @return Mean queue wait of a day (virtual milliseconds)
+     */
+    public double getMeanWait() {
+        return this.days == 0 ? 0 : this.meanWait / this.days;
+    }
+
+    /**
+     * Get the half-width of the 95% confidence interval of the mean queue
+     * wait of a day.
+     *
+     * @return Half-width of the interval (virtual milliseconds)
+     */
+    public double getMeanWaitError() {
+        return this.days < 2 ? 0 : 1.96 * deviation(this.days, this.meanWait,
+                this.meanWaitSquared) / Math.sqrt(this.days);
+    }
+
+    /**
+     * Get a percentile of the queue waits of every boarding.
+     *
+     * @param fraction Percentile (from 0 to 1)
+     *
+     * @return The percentile (virtual milliseconds)
+     */
+    public double getWaitPercentile(double fraction) {
+        return this.waits.percentile(fraction);
+    }
+
+    /**
+     * Get the number of passengers, over every day, that rode a given number
+     * of times.
+     *
+     * @param rides Number of rides
+     *
+     * @return Number of passengers
+     */
+    public long getPassengersWithRides(int rides) {
+        return rides < this.ridesPerPassenger.length
+                ? this.ridesPerPassenger[rides] : 0;
+    }
+
+    /**
+     * Get the mean length of a day.
+     *
+     * @return Mean length of a day (virtual milliseconds)
+     */
+    public double getMeanDayLength() {
+        return this.days == 0 ? 0 : (double) this.dayLength / this.days;
+    }
+
+    /**
+     * Get the sample standard deviation of a value from its sums.
+     *
+     * @param n Number of values
+     * @param sum Sum of the values
+     * @param squared Sum of the squares of the values
+     *
+     * @return Standard deviation
+     */
+    private static double deviation(long n, double sum, double squared) {
+        if (n < 2) {
+            return 0;
+        }
+        double variance = (squared - sum * sum / n) / (n - 1);
+        return Math.sqrt(Math.max(variance, 0));
+    }
+
+    /**
+     * Get a percentile of the number of rides of a passenger.
+     *
+     * @param fraction Percentile (from 0 to 1)
+     *
+     * @return The percentile
+     */
+    private int ridesPercentile(double fraction) {
+        long total = 0;
+        for (long count : this.ridesPerPassenger) {
+            total += count;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int rides = 0; rides < this.ridesPerPassenger.length; rides++) {
+            seen += this.ridesPerPassenger[rides];
+            if (seen >= rank) {
+                return rides;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Summary{" + "Days = " + this.days
+                + ", Rides per day = "
+                + String.format("%.1f", this.getMeanRides()) + " +/- "
+                + String.format("%.1f", this.getRidesDeviation())
+                + " (" + (this.days == 0 ? 0 : this.minRides) + ".."
+                + this.maxRides + ")"
+                + ", Boardings = " + this.boardings
+                + ", Rides per passenger p1/p50/p99 = "
+                + this.ridesPercentile(0.01) + "/"
+                + this.ridesPercentile(0.50) + "/"
+                + this.ridesPercentile(0.99)
+                + ", Mean queue wait = "
+                + String.format("%.1f", this.getMeanWait()) + " +/- "
+                + String.format("%.1f", this.getMeanWaitError()) + " ms"
+                + ", Queue wait p50/p99 = "
+                + String.format("%.0f", this.waits.percentile(0.50)) + "/"
+                + String.format("%.0f", this.waits.percentile(0.99)) + " ms"
+                + ", Max queue wait = " + this.waits.getMax() + " ms"
+                + ", Mean day length = "
+                + String.format("%.0f", this.getMeanDayLength()) + " ms"
+                + ", Max day length = " + this.maxDayLength + " ms"
+                + '}';
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * GNU License.
+ */
+package rollercoastersimulation.engine;
+
+/**
+ * Histogram of queue waits. Values are counted in log-linear buckets (eight
+ * buckets per power of two), so it takes the same few kilobytes however many
+ * values it holds and percentiles are within 12.5% of the recorded value.
+ * Two histograms merge by adding their buckets.
+ *
+ * @author Breno & Patrícia
+ * @version 17/10/2026
+ */
+final class WaitHistogram {
+
+    // Buckets per power of two (log2)
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Number of buckets (every non-negative long)
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    // Count of each bucket
+    private final long[] counts;
+    // Number of recorded values
+    private long count;
+    // Maximum recorded value
+    private long max;
+
+    /**
+     * Constructor.
+     */
+    WaitHistogram() {
+        this.counts = new long[BUCKETS];
+    }
+
+    /**
+     * Get the bucket of a value.
+     *
+     * @param value Value (not negative)
+     *
+     * @return Bucket index
+     */
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS))
+                & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Get the middle value of a bucket.
+     *
+     * @param bucket Bucket index
+     *
+     * @return Middle value of the bucket
+     */
+    private static double middle(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lowest = (1L << exponent) + sub * width;
+        return lowest + width / 2.0;
+    }
+
+    /**
+     * Record a wait.
+     *
+     * @param value Wait (negative values count as zero)
+     */
+    void record(long value) {
+        value = Math.max(value, 0);
+        this.counts[bucket(value)]++;
+        this.count++;
+        this.max = Math.max(this.max, value);
+    }
+
+    /**
+     * Add the waits of another histogram to this one.
+     *
+     * @param other Another histogram
+     */
+    void merge(WaitHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts[i] += other.counts[i];
+        }
+        this.count += other.count;
+        this.max = Math.max(this.max, other.max);
+    }
+
+    /**
+     * Get the number of recorded waits.
+     *
+     * @return Number of recorded waits
+     */
+    long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Get the maximum recorded wait.
+     *
+     * @return Maximum recorded wait
+     */
+    long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Get a percentile of the recorded waits.
+     *
+     * @param fraction Percentile (from 0 to 1)
+     *
+     * @return The percentile (at most the maximum) or 0 if there are no waits
+     */
+    double percentile(double fraction) {
+        if (this.count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * this.count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(middle(i), this.max);
+            }
+        }
+        return this.max;
+    }
+}